@@ -0,0 +1,123 @@
+package com.mindsdb.benchmarks;
+
+import com.mindsdb.cache.CacheConfig;
+import com.mindsdb.client.Client;
+import com.mindsdb.client.ClientConfig;
+import com.mindsdb.models.DatabaseConfig;
+import com.mindsdb.models.Datasource;
+import com.mindsdb.models.Mind;
+import com.mindsdb.utils.Constants;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Full service calls, from request building through the transport to response parsing, against a
+ * local MockWebServer. The metadata cache is disabled so every call reaches the server.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientBenchmark {
+
+    private static final String MIND_NAME = "benchmark_mind";
+    private static final String DATASOURCE_NAME = "testds";
+
+    @Param({"10", "1000"})
+    public int listSize;
+
+    private MockWebServer server;
+    private Client client;
+    private DatabaseConfig databaseConfig;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String mindPath = String.format(Constants.LIST_MIND_ENDPOINT, Constants.MINDS_PROJECT);
+        String mindJson = Fixtures.mindJson(MIND_NAME);
+        String mindListJson = Fixtures.mindListJson(listSize);
+        String datasourceListJson = Fixtures.datasourceListJson(listSize);
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath() == null ? "" : request.getPath().substring(Constants.MINDS_API_ENDPOINT.length());
+                MockResponse response = new MockResponse().setResponseCode(200);
+                if (path.equals(mindPath)) return response.setBody("GET".equals(request.getMethod()) ? mindListJson : mindJson);
+                if (path.startsWith(mindPath + "/")) return response.setBody(mindJson);
+                if (path.equals(Constants.LIST_DATASOURCE_ENDPOINT)) {
+                    return response.setBody("GET".equals(request.getMethod()) ? datasourceListJson : Fixtures.DATASOURCE_JSON);
+                }
+                if (path.startsWith(Constants.LIST_DATASOURCE_ENDPOINT + "/")) return response.setBody(Fixtures.DATASOURCE_JSON);
+                return response.setResponseCode(404);
+            }
+        });
+        server.start();
+        String baseUrl = String.format("http://%s:%d", server.getHostName(), server.getPort());
+        client = new Client("benchmark-key", baseUrl, ClientConfig.builder().cache(CacheConfig.disabled()).build());
+        databaseConfig = Fixtures.databaseConfig(DATASOURCE_NAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.shutDownConnection();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public Optional<Mind> getMind() throws Exception {
+        return client.mindsService.get(MIND_NAME);
+    }
+
+    @Benchmark
+    public Optional<List<Mind>> listMinds() throws Exception {
+        return client.mindsService.list();
+    }
+
+    @Benchmark
+    public List<Mind> streamMinds() throws Exception {
+        return client.mindsService.stream().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Mind createMind() throws Exception {
+        return client.mindsService.create(MIND_NAME, List.of(DATASOURCE_NAME));
+    }
+
+    @Benchmark
+    public Optional<Datasource> getDatasource() throws Exception {
+        return client.datasourcesService.get(DATASOURCE_NAME);
+    }
+
+    @Benchmark
+    public Optional<List<Datasource>> listDatasources() throws Exception {
+        return client.datasourcesService.list();
+    }
+
+    @Benchmark
+    public Datasource createDatasource() throws Exception {
+        return client.datasourcesService.create(databaseConfig);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mindsdb.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.mindsdb.models.DatabaseConfig;
+
+import java.util.List;
+
+/**
+ * Payloads shaped like the responses of the Minds API, shared by the benchmarks.
+ */
+final class Fixtures {
+
+    static final String DATASOURCE_JSON = "{\"name\":\"testds\",\"engine\":\"postgres\",\"description\":\"Postgres database\","
+            + "\"connection_data\":{\"database\":\"demo\",\"host\":\"samples.mindsdb.com\",\"password\":\"demo_password\","
+            + "\"port\":5432,\"schema\":\"demo_data\",\"user\":\"demo_user\"},\"tables\":[\"car_info\",\"jobs\"]}";
+
+    private Fixtures() {
+    }
+
+    static String mindJson(String name) {
+        JsonObject mind = new JsonObject();
+        mind.addProperty("name", name);
+        JsonArray datasources = new JsonArray();
+        datasources.add("testds");
+        datasources.add("sales");
+        mind.add("datasources", datasources);
+        mind.addProperty("created_at", "2024-10-01 12:00:00.000000");
+        mind.addProperty("updated_at", "2024-10-02 12:00:00.000000");
+        mind.addProperty("model_name", "gpt-4o");
+        mind.addProperty("provider", "openai");
+        mind.add("parameters", parameters());
+        return mind.toString();
+    }
+
+    static String mindListJson(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) json.append(',');
+            json.append(mindJson("mind_" + i));
+        }
+        return json.append(']').toString();
+    }
+
+    static String datasourceListJson(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) json.append(',');
+            json.append(DATASOURCE_JSON.replace("\"testds\"", "\"ds_" + i + "\""));
+        }
+        return json.append(']').toString();
+    }
+
+    static JsonObject parameters() {
+        JsonObject parameters = new JsonObject();
+        parameters.addProperty("prompt_template", "Use your database tools to answer the user's question: {{question}}");
+        return parameters;
+    }
+
+    static DatabaseConfig databaseConfig(String name) {
+        JsonObject connectionData = new JsonObject();
+        connectionData.addProperty("user", "demo_user");
+        connectionData.addProperty("password", "demo_password");
+        connectionData.addProperty("host", "samples.mindsdb.com");
+        connectionData.addProperty("port", "5432");
+        connectionData.addProperty("database", "demo");
+        connectionData.addProperty("schema", "demo_data");
+        return DatabaseConfig.builder()
+                .name(name)
+                .engine("postgres")
+                .description("House Sales")
+                .connection_data(connectionData)
+                .tables(List.of("house_sales"))
+                .build();
+    }
+}
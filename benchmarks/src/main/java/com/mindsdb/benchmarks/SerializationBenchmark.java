@@ -0,0 +1,85 @@
+package com.mindsdb.benchmarks;
+
+import com.google.gson.JsonObject;
+import com.mindsdb.models.DatabaseConfig;
+import com.mindsdb.models.Datasource;
+import com.mindsdb.models.Mind;
+import com.mindsdb.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and request-body building done on every SDK call, without any I/O.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private String mindJson;
+    private DatabaseConfig databaseConfig;
+    private Datasource datasource;
+    private JsonObject parameters;
+
+    @State(Scope.Benchmark)
+    public static class MindList {
+
+        @Param({"10", "1000"})
+        public int size;
+
+        public String json;
+
+        @Setup
+        public void setUp() {
+            json = Fixtures.mindListJson(size);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        mindJson = Fixtures.mindJson("benchmark_mind");
+        databaseConfig = Fixtures.databaseConfig("benchmark_ds");
+        datasource = Utils.parseStringToDatasource(Fixtures.DATASOURCE_JSON);
+        parameters = Fixtures.parameters();
+    }
+
+    @Benchmark
+    public Mind parseMind() {
+        return Utils.parseStringToMind(mindJson);
+    }
+
+    @Benchmark
+    public List<Mind> parseMindList(MindList mindList) {
+        return Utils.parseStringToMindList(mindList.json);
+    }
+
+    @Benchmark
+    public String databaseConfigToString() {
+        return databaseConfig.toString();
+    }
+
+    @Benchmark
+    public String datasourceUpdateBody() {
+        return Utils.generateDatasourceUpdateBody(datasource);
+    }
+
+    @Benchmark
+    public Mind createMindFromParams() {
+        return Utils.createMindFromParams("benchmark_mind", List.of("testds"), "gpt-4o", parameters, "openai", null);
+    }
+}
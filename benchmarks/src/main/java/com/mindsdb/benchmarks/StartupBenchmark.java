@@ -0,0 +1,76 @@
+package com.mindsdb.benchmarks;
+
+import com.mindsdb.client.Client;
+import com.mindsdb.models.Mind;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start: every measurement runs once in a fresh JVM, so it includes loading and initialising
+ * the SDK classes. The setup touches neither SDK nor Gson classes, so none of that cost is hidden in it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final String MIND_LIST_JSON = "[{\"name\":\"mind_0\",\"datasources\":[\"testds\"],\"model_name\":\"gpt-4o\"}]";
+
+    private MockWebServer server;
+    private String baseUrl;
+    private Client client;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if ("/api/projects/mindsdb/minds".equals(request.getPath())) return new MockResponse().setBody(MIND_LIST_JSON);
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        server.start();
+        baseUrl = String.format("http://%s:%d", server.getHostName(), server.getPort());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (client != null) client.shutDownConnection();
+        server.shutdown();
+    }
+
+    @Benchmark
+    public Client newClient() {
+        client = new Client("benchmark-key", baseUrl);
+        return client;
+    }
+
+    @Benchmark
+    public Optional<List<Mind>> firstRequest() throws Exception {
+        client = new Client("benchmark-key", baseUrl);
+        return client.mindsService.list();
+    }
+}
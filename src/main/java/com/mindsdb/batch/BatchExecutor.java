@@ -0,0 +1,116 @@
+package com.mindsdb.batch;
+
+import com.mindsdb.utils.Utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Runs the items of a bulk operation on the asynchronous request path with a bounded number of
+ * items in flight. Each completion immediately starts the next pending item, so the total time
+ * scales with the number of items divided by the concurrency rather than with the item count.
+ */
+public class BatchExecutor {
+
+    /**
+     * Runs {@code task} for every input with at most {@code concurrency} items in flight.
+     *
+     * @param inputs      the items to process
+     * @param keyFunction derives the name reported for an item
+     * @param task        starts the asynchronous operation for an item
+     * @param concurrency the maximum number of items in flight
+     * @param <I>         the type of the inputs
+     * @param <T>         the type of the value produced per item
+     * @return a future completed with the per-item report once every item has finished; it never
+     *         completes exceptionally because failures are recorded per item
+     */
+    public static <I, T> CompletableFuture<BatchResult<T>> run(List<I> inputs, Function<I, String> keyFunction,
+                                                               Function<I, CompletableFuture<T>> task, int concurrency) {
+        return start(inputs, keyFunction, task, concurrency).getResult();
+    }
+
+    /**
+     * Like {@link #run(List, Function, Function, int)}, but returns a handle through which the
+     * operation can be cancelled while it runs.
+     *
+     * @param inputs      the items to process
+     * @param keyFunction derives the name reported for an item
+     * @param task        starts the asynchronous operation for an item
+     * @param concurrency the maximum number of items in flight
+     * @param <I>         the type of the inputs
+     * @param <T>         the type of the value produced per item
+     * @return the handle of the running operation
+     */
+    public static <I, T> BatchHandle<T> start(List<I> inputs, Function<I, String> keyFunction,
+                                              Function<I, CompletableFuture<T>> task, int concurrency) {
+        long startedAt = System.nanoTime();
+        BatchHandle<T> handle = new BatchHandle<>();
+        if (inputs.isEmpty()) {
+            handle.getResult().complete(new BatchResult<>(List.of(), Duration.ZERO));
+            return handle;
+        }
+        AtomicReferenceArray<BatchItemResult<T>> items = new AtomicReferenceArray<>(inputs.size());
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(inputs.size());
+        Runnable onAllDone = () -> handle.getResult().complete(new BatchResult<>(toList(items),
+                Duration.ofNanos(System.nanoTime() - startedAt)));
+        int workers = Math.max(1, Math.min(concurrency, inputs.size()));
+        for (int worker = 0; worker < workers; worker++) {
+            startNext(inputs, keyFunction, task, handle, items, nextIndex, remaining, onAllDone);
+        }
+        return handle;
+    }
+
+    /**
+     * Starts pending items one after another until one of them is still in flight; its completion
+     * resumes the loop. Items that complete synchronously are handled in the loop instead of by
+     * recursion, so long runs of cache hits or validation failures cannot overflow the stack.
+     * Once the handle is cancelled, pending items are recorded as cancelled without being started.
+     */
+    private static <I, T> void startNext(List<I> inputs, Function<I, String> keyFunction, Function<I, CompletableFuture<T>> task,
+                                         BatchHandle<T> handle, AtomicReferenceArray<BatchItemResult<T>> items, AtomicInteger nextIndex,
+                                         AtomicInteger remaining, Runnable onAllDone) {
+        while (true) {
+            int index = nextIndex.getAndIncrement();
+            if (index >= inputs.size()) return;
+            I input = inputs.get(index);
+            long itemStartedAt = System.nanoTime();
+            CompletableFuture<T> future;
+            if (handle.isCancelled()) {
+                future = CompletableFuture.failedFuture(new CancellationException("Batch cancelled before the item started"));
+            } else {
+                try {
+                    future = task.apply(input);
+                } catch (RuntimeException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+            }
+            handle.track(future);
+            CompletableFuture<T> started = future;
+            CompletableFuture<T> item = future.whenComplete((value, throwable) -> {
+                handle.untrack(started);
+                items.set(index, new BatchItemResult<>(index, keyFunction.apply(input), throwable == null ? value : null,
+                        throwable == null ? null : Utils.unwrap(throwable), Duration.ofNanos(System.nanoTime() - itemStartedAt)));
+                if (remaining.decrementAndGet() == 0) onAllDone.run();
+            });
+            if (!item.isDone()) {
+                item.whenComplete((value, throwable) -> startNext(inputs, keyFunction, task, handle, items, nextIndex, remaining, onAllDone));
+                return;
+            }
+        }
+    }
+
+    private static <T> List<BatchItemResult<T>> toList(AtomicReferenceArray<BatchItemResult<T>> items) {
+        List<BatchItemResult<T>> list = new ArrayList<>(items.length());
+        for (int i = 0; i < items.length(); i++) {
+            list.add(items.get(i));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mindsdb.batch;
+
+import lombok.Getter;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Handle of a running bulk operation that allows it to be cancelled part way through.
+ * <p>
+ * Cancelling keeps the results of the items that already finished. Items that have not started are
+ * not started any more, the futures of items in flight are cancelled, and both are reported with a
+ * {@link java.util.concurrent.CancellationException} as their error. Whether cancelling an item
+ * also stops its work depends on the task; completions of a mind abort their HTTP request.
+ * </p>
+ *
+ * @param <T> the type of the value produced for a successful item
+ */
+public class BatchHandle<T> {
+
+    /** Future completed with the per-item report once every item has finished or been cancelled. */
+    @Getter private final CompletableFuture<BatchResult<T>> result = new CompletableFuture<>();
+
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    BatchHandle() {
+    }
+
+    /**
+     * Stops the operation. Items that already finished keep their results.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (CompletableFuture<?> future : inFlight) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Returns whether {@link #cancel()} has been called.
+     *
+     * @return {@code true} if the operation was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void track(CompletableFuture<?> future) {
+        inFlight.add(future);
+        if (cancelled) future.cancel(true);
+    }
+
+    void untrack(CompletableFuture<?> future) {
+        inFlight.remove(future);
+    }
+}
@@ -0,0 +1,52 @@
+package com.mindsdb.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Outcome of a single item of a bulk operation.
+ *
+ * @param <T> the type of the value produced for a successful item
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BatchItemResult<T> {
+
+    /** Position of the item in the input. */
+    private final int index;
+
+    /** Name identifying the item, e.g. the datasource name. */
+    private final String key;
+
+    /** Value produced by the item, or {@code null} if it failed. */
+    private final T value;
+
+    /** Failure of the item, or {@code null} if it succeeded. */
+    private final Throwable error;
+
+    /** Time the item spent in flight. */
+    private final Duration duration;
+
+    /**
+     * Returns whether the item succeeded.
+     *
+     * @return {@code true} if the item completed without an error
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns whether the item was cancelled through its {@link BatchHandle}.
+     *
+     * @return {@code true} if the item did not run to completion because the batch was cancelled
+     */
+    public boolean isCancelled() {
+        return error instanceof CancellationException;
+    }
+}
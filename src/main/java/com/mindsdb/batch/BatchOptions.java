@@ -0,0 +1,31 @@
+package com.mindsdb.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Options of a bulk operation such as {@code DatasourcesService.createAll} or {@code Mind.completeAll}.
+ */
+@Getter
+@Builder
+public class BatchOptions {
+
+    /**
+     * Maximum number of items in flight at once. The effective concurrency is also bounded by the
+     * connection pool of the client, see {@link com.mindsdb.client.ConnectionPoolConfig}, and for
+     * completions by {@link com.mindsdb.client.CompletionConfig#getMaxConcurrentCompletions()}.
+     */
+    @Builder.Default private int concurrency = 8;
+
+    /** Whether creations replace existing objects with the same name. */
+    @Builder.Default private boolean replace = false;
+
+    /**
+     * Returns the options used when none are supplied.
+     *
+     * @return the default batch options
+     */
+    public static BatchOptions defaults() {
+        return BatchOptions.builder().build();
+    }
+}
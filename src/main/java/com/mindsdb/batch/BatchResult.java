@@ -0,0 +1,54 @@
+package com.mindsdb.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Per-item report of a bulk operation. Items are listed in input order and a failing item never
+ * prevents the others from running.
+ *
+ * @param <T> the type of the value produced for a successful item
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BatchResult<T> {
+
+    /** Results of all items, in input order. */
+    private final List<BatchItemResult<T>> items;
+
+    /** Wall-clock time of the whole operation. */
+    private final Duration elapsed;
+
+    /**
+     * Returns the items that succeeded.
+     *
+     * @return the successful items, in input order
+     */
+    public List<BatchItemResult<T>> successes() {
+        return items.stream().filter(BatchItemResult::isSuccess).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the items that failed.
+     *
+     * @return the failed items, in input order
+     */
+    public List<BatchItemResult<T>> failures() {
+        return items.stream().filter(item -> !item.isSuccess()).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns whether every item succeeded.
+     *
+     * @return {@code true} if no item failed
+     */
+    public boolean isAllSucceeded() {
+        return items.stream().allMatch(BatchItemResult::isSuccess);
+    }
+}
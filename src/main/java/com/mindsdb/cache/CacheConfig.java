@@ -0,0 +1,48 @@
+package com.mindsdb.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of the metadata cache that keeps recently read minds and datasources.
+ */
+@Getter
+@Builder
+public class CacheConfig {
+
+    /** Whether {@code get} calls are served from the cache. */
+    @Builder.Default private boolean enabled = true;
+
+    /** Maximum number of entries per entity type; the least recently used entries are evicted first. */
+    @Builder.Default private int maxSize = 1000;
+
+    /** How long an entry stays valid after it was read from or written to the server. */
+    @Builder.Default private Duration ttl = Duration.ofMinutes(1);
+
+    /**
+     * Whether the {@code ETag} and {@code Last-Modified} validators of reads are kept after their
+     * entries expire, so the next read is a conditional request answered with {@code 304 Not Modified}
+     * if nothing changed.
+     */
+    @Builder.Default private boolean revalidate = true;
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default cache configuration
+     */
+    public static CacheConfig defaults() {
+        return CacheConfig.builder().build();
+    }
+
+    /**
+     * Returns a configuration that turns the cache off.
+     *
+     * @return a disabled cache configuration
+     */
+    public static CacheConfig disabled() {
+        return CacheConfig.builder().enabled(false).build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.mindsdb.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable snapshot of the counters of a {@link LruCache}.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CacheStats {
+
+    /** Number of lookups that found a live entry. */
+    private final long hitCount;
+
+    /** Number of lookups that found no entry or an expired one. */
+    private final long missCount;
+
+    /** Number of entries removed to keep the cache within its maximum size. */
+    private final long evictionCount;
+
+    /** Number of entries dropped because they outlived the time-to-live. */
+    private final long expirationCount;
+
+    /**
+     * Returns the ratio of hits to lookups.
+     *
+     * @return the hit rate between 0 and 1, or 0 if the cache has not been read yet
+     */
+    public double hitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+}
@@ -0,0 +1,125 @@
+package com.mindsdb.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Cache of completion answers keyed on the mind name, model, prompt template and message.
+ * <p>
+ * Changing a mind's model or prompt template changes the key, and {@code Mind.update},
+ * {@code addDatasource}, {@code dropDatasource} and dropping the mind invalidate all of its
+ * answers, since they change what the mind knows. With a store path configured, answers and
+ * invalidations are also written to an append-only file and restored on the next start.
+ * </p>
+ */
+@Slf4j
+public class CompletionCache {
+
+    private final boolean enabled;
+    private final LruCache<String, CompletionStore.Record> answers;
+    private final CompletionStore store;
+
+    public CompletionCache(CompletionCacheConfig config) {
+        this.enabled = config.isEnabled();
+        this.answers = new LruCache<>(config.getMaxSize(), config.getTtl());
+        this.store = enabled && config.getStorePath() != null ? openStore(config.getStorePath(), config.getTtl()) : null;
+    }
+
+    /**
+     * Returns the cached answer to the message.
+     *
+     * @param mindName       the name of the mind
+     * @param model          the model of the mind
+     * @param promptTemplate the prompt template of the mind
+     * @param message        the message sent to the mind
+     * @return the cached answer, or an empty Optional on a miss
+     */
+    public Optional<String> get(String mindName, String model, String promptTemplate, String message) {
+        if (!enabled) return Optional.empty();
+        return Optional.ofNullable(answers.get(key(mindName, model, promptTemplate, message))).map(record -> record.answer);
+    }
+
+    /**
+     * Caches the answer to the message.
+     *
+     * @param mindName       the name of the mind
+     * @param model          the model of the mind
+     * @param promptTemplate the prompt template of the mind
+     * @param message        the message sent to the mind
+     * @param answer         the answer received from the mind
+     */
+    public void put(String mindName, String model, String promptTemplate, String message, String answer) {
+        if (!enabled || answer == null) return;
+        CompletionStore.Record record = CompletionStore.Record.answer(key(mindName, model, promptTemplate, message), mindName, answer);
+        answers.put(record.key, record);
+        if (store != null) store.append(record);
+    }
+
+    /**
+     * Drops every cached answer of the mind.
+     *
+     * @param mindName the name of the mind that changed
+     */
+    public void invalidateMind(String mindName) {
+        if (!enabled) return;
+        answers.invalidateIf((key, record) -> mindName.equals(record.mind));
+        if (store != null) store.append(CompletionStore.Record.invalidation(mindName));
+    }
+
+    /**
+     * Drops every cached answer.
+     */
+    public void invalidateAll() {
+        if (!enabled) return;
+        answers.invalidateAll();
+        if (store != null) store.append(CompletionStore.Record.invalidation(null));
+    }
+
+    /**
+     * Returns the hit and miss counters of the cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats stats() {
+        return answers.stats();
+    }
+
+    /**
+     * Closes the store file, if any. The in-memory answers remain usable.
+     */
+    public void close() {
+        if (store != null) store.close();
+    }
+
+    private CompletionStore openStore(Path storePath, Duration ttl) {
+        CompletionStore completionStore = new CompletionStore(storePath);
+        try {
+            long now = System.currentTimeMillis();
+            for (CompletionStore.Record record : completionStore.load(ttl)) {
+                answers.put(record.key, record, Duration.ofMillis(Math.max(0, now - record.writtenAt)));
+            }
+            return completionStore;
+        } catch (IOException e) {
+            log.warn("Could not open completion store {}, caching in memory only: {}", storePath, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String key(String mindName, String model, String promptTemplate, String message) {
+        String joined = String.join("\u0000", mindName, String.valueOf(model), String.valueOf(promptTemplate), message);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(joined.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.mindsdb.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the completion cache that answers repeated questions to a mind without a round trip.
+ * The cache is off unless enabled, because completions are not deterministic.
+ */
+@Getter
+@Builder
+public class CompletionCacheConfig {
+
+    /** Whether {@code Mind.completion} answers are cached. */
+    @Builder.Default private boolean enabled = false;
+
+    /** Maximum number of cached answers; the least recently used answers are evicted first. */
+    @Builder.Default private int maxSize = 1000;
+
+    /** How long an answer stays valid after it was received. */
+    @Builder.Default private Duration ttl = Duration.ofMinutes(10);
+
+    /** Append-only file the answers are also written to so they survive restarts; {@code null} to keep them in memory only. */
+    private Path storePath;
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default, disabled completion cache configuration
+     */
+    public static CompletionCacheConfig defaults() {
+        return CompletionCacheConfig.builder().build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.mindsdb.cache;
+
+import com.google.gson.JsonParseException;
+import com.mindsdb.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only file of cached completions, one JSON record per line.
+ * <p>
+ * Answers and invalidations are appended as they happen, so a crash loses at most the line being
+ * written. On load the file is replayed, expired and invalidated answers are dropped, and the file
+ * is rewritten with only the live answers if it contains anything else.
+ * </p>
+ */
+@Slf4j
+class CompletionStore {
+
+    private final Path path;
+    private BufferedWriter writer;
+
+    CompletionStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Replays the file, compacts it and opens it for appending.
+     *
+     * @param ttl how long an answer stays valid after it was received
+     * @return the live answers, oldest first
+     * @throws IOException if the file cannot be read or written
+     */
+    synchronized List<Record> load(Duration ttl) throws IOException {
+        Map<String, Record> live = new LinkedHashMap<>();
+        int lineCount = 0;
+        long now = System.currentTimeMillis();
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineCount++;
+                    Record record;
+                    try {
+                        record = Constants.gson.fromJson(line, Record.class);
+                    } catch (JsonParseException e) {
+                        log.warn("Skipping unreadable line {} of completion store {}", lineCount, path);
+                        continue;
+                    }
+                    if (record == null) continue;
+                    if (record.invalidated) {
+                        live.values().removeIf(cached -> record.mind == null || record.mind.equals(cached.mind));
+                    } else if (record.key != null && now - record.writtenAt <= ttl.toMillis()) {
+                        live.remove(record.key);
+                        live.put(record.key, record);
+                    }
+                }
+            }
+        } else if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<Record> records = new ArrayList<>(live.values());
+        if (lineCount > records.size()) compact(records);
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log.debug("Loaded {} cached completions from {}", records.size(), path);
+        return records;
+    }
+
+    /**
+     * Appends a record and flushes it to the file. Failures are logged, since the in-memory cache
+     * stays correct without the file.
+     *
+     * @param record the answer or invalidation to persist
+     */
+    synchronized void append(Record record) {
+        if (writer == null) return;
+        try {
+            writer.write(Constants.gson.toJson(record));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Could not write to completion store {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the file.
+     */
+    synchronized void close() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Could not close completion store {}: {}", path, e.getMessage());
+        }
+        writer = null;
+    }
+
+    private void compact(List<Record> records) throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (Record record : records) {
+                out.write(Constants.gson.toJson(record));
+                out.newLine();
+            }
+        }
+        try {
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * One line of the store: either a cached answer or the invalidation of a mind's answers.
+     */
+    static class Record {
+        String key;
+        String mind;
+        String answer;
+        long writtenAt;
+        boolean invalidated;
+
+        static Record answer(String key, String mind, String answer) {
+            Record record = new Record();
+            record.key = key;
+            record.mind = mind;
+            record.answer = answer;
+            record.writtenAt = System.currentTimeMillis();
+            return record;
+        }
+
+        static Record invalidation(String mind) {
+            Record record = new Record();
+            record.mind = mind;
+            record.writtenAt = System.currentTimeMillis();
+            record.invalidated = true;
+            return record;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.mindsdb.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * A thread-safe, size-bounded cache with least-recently-used eviction and an optional time-to-live.
+ * <p>
+ * Lookups, writes and invalidations are counted so the effectiveness of the cache can be
+ * observed through {@link #stats()}.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    /**
+     * Creates a cache holding at most {@code maxSize} entries.
+     *
+     * @param maxSize the maximum number of entries
+     * @param ttl     how long an entry stays valid after it was written; {@code null} or zero to never expire
+     */
+    public LruCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= LruCache.this.maxSize) return false;
+                evictionCount++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the live value for the key, marking it as most recently used.
+     *
+     * @param key the key to look up
+     * @return the cached value, or {@code null} if there is none or it has expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        if (isExpired(entry)) {
+            entries.remove(key);
+            expirationCount++;
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * Stores a value, replacing any previous value for the key and restarting its time-to-live.
+     *
+     * @param key   the key
+     * @param value the value to cache
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+    }
+
+    /**
+     * Stores a value that was produced {@code age} ago, e.g. one restored from disk, so that it
+     * expires when it would have if it had been cached all along.
+     *
+     * @param key   the key
+     * @param value the value to cache
+     * @param age   how long ago the value was produced
+     */
+    public synchronized void put(K key, V value, Duration age) {
+        entries.put(key, new Entry<>(value, System.nanoTime() - age.toNanos()));
+    }
+
+    /**
+     * Removes the entry for the key, if any.
+     *
+     * @param key the key to invalidate
+     */
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every entry matching the predicate.
+     *
+     * @param predicate receives each key and value and returns {@code true} for entries to remove
+     */
+    public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        entries.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue().value));
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of entries, including ones that have expired but were not yet read.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss, eviction and expiration counters.
+     *
+     * @return the cache statistics
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount, expirationCount);
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.writtenAt > ttlNanos;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long writtenAt;
+
+        private Entry(V value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.mindsdb.cache;
+
+import com.mindsdb.models.Datasource;
+import com.mindsdb.models.Mind;
+import com.mindsdb.utils.Constants;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cache of mind and datasource metadata keyed by name.
+ * <p>
+ * Services populate it on reads and invalidate it on every write (create, update, drop,
+ * addDatasource, dropDatasource), so a read following a write made through the same client
+ * never sees stale data. Cached objects are copied on the way in and out, so callers may
+ * mutate what they receive without corrupting the cache.
+ * </p>
+ * <p>
+ * Independently of the time-to-live, the validators of each read endpoint are kept with the object
+ * parsed from its response. They need no invalidation: the server decides whether they are still
+ * current when they are sent with the next request for the endpoint.
+ * </p>
+ */
+public class MetadataCache {
+
+    private final boolean enabled;
+    private final LruCache<String, Mind> minds;
+    private final LruCache<String, Datasource> datasources;
+    private final LruCache<String, Revalidation<?>> revalidations;
+
+    public MetadataCache(CacheConfig cacheConfig) {
+        this.enabled = cacheConfig.isEnabled();
+        this.minds = new LruCache<>(cacheConfig.getMaxSize(), cacheConfig.getTtl());
+        this.datasources = new LruCache<>(cacheConfig.getMaxSize(), cacheConfig.getTtl());
+        this.revalidations = cacheConfig.isEnabled() && cacheConfig.isRevalidate() ? new LruCache<>(cacheConfig.getMaxSize(), null) : null;
+    }
+
+    /**
+     * Returns a copy of the cached mind.
+     *
+     * @param mindName the name of the mind
+     * @return the cached mind, or an empty Optional on a miss
+     */
+    public Optional<Mind> getMind(String mindName) {
+        if (!enabled) return Optional.empty();
+        return Optional.ofNullable(minds.get(mindName)).map(MetadataCache::copy);
+    }
+
+    /**
+     * Caches a copy of the mind under its name.
+     *
+     * @param mind the mind read from or written to the server
+     */
+    public void putMind(Mind mind) {
+        if (enabled) minds.put(mind.getName(), copy(mind));
+    }
+
+    /**
+     * Drops the cached mind.
+     *
+     * @param mindName the name of the mind that changed
+     */
+    public void invalidateMind(String mindName) {
+        minds.invalidate(mindName);
+    }
+
+    /**
+     * Returns a copy of the cached datasource.
+     *
+     * @param datasourceName the name of the datasource
+     * @return the cached datasource, or an empty Optional on a miss
+     */
+    public Optional<Datasource> getDatasource(String datasourceName) {
+        if (!enabled) return Optional.empty();
+        return Optional.ofNullable(datasources.get(datasourceName)).map(MetadataCache::copy);
+    }
+
+    /**
+     * Caches a copy of the datasource under its name.
+     *
+     * @param datasource the datasource read from or written to the server
+     */
+    public void putDatasource(Datasource datasource) {
+        if (enabled) datasources.put(datasource.getName(), copy(datasource));
+    }
+
+    /**
+     * Drops the cached datasource together with every cached mind that references it,
+     * since their datasource lists may change with it.
+     *
+     * @param datasourceName the name of the datasource that changed
+     */
+    public void invalidateDatasource(String datasourceName) {
+        datasources.invalidate(datasourceName);
+        minds.invalidateIf((name, mind) -> mind.getDatasources() != null && mind.getDatasources().contains(datasourceName));
+    }
+
+    /**
+     * Returns the validators of the last response read from the endpoint, with a copy of the object
+     * parsed from it.
+     *
+     * @param endPoint the endpoint of the response
+     * @param <T>      the type of the parsed object
+     * @return the validators and object, or an empty Optional if there are none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<Revalidation<T>> getRevalidation(String endPoint) {
+        if (revalidations == null) return Optional.empty();
+        Revalidation<T> revalidation = (Revalidation<T>) revalidations.get(endPoint);
+        if (revalidation == null) return Optional.empty();
+        return Optional.of(new Revalidation<>(revalidation.getEtag(), revalidation.getLastModified(), copyValue(revalidation.getValue())));
+    }
+
+    /**
+     * Keeps the validators of a response and a copy of the object parsed from it. Responses
+     * without validators are not kept.
+     *
+     * @param endPoint     the endpoint of the response
+     * @param etag         the {@code ETag} of the response, or {@code null}
+     * @param lastModified the {@code Last-Modified} of the response, or {@code null}
+     * @param value        the object parsed from the response body
+     */
+    public void putRevalidation(String endPoint, String etag, String lastModified, Object value) {
+        if (revalidations == null || value == null || (etag == null && lastModified == null)) return;
+        revalidations.put(endPoint, new Revalidation<>(etag, lastModified, copyValue(value)));
+    }
+
+    /**
+     * Warms the cache from a snapshot: caches every mind and datasource of the snapshot as if they
+     * had been read when it was taken, so they expire no later than they would have in the process
+     * that took it, and keeps the validators of its mind list response, so the next list call
+     * revalidates the snapshot instead of downloading the list again. Datasources served from a
+     * snapshot have no connection data until they are read again.
+     *
+     * @param snapshot the snapshot read at startup
+     */
+    public void load(MetadataSnapshot snapshot) {
+        if (!enabled) return;
+        Duration age = snapshot.getAge();
+        snapshot.getMinds().getValue().forEach(mind -> minds.put(mind.getName(), copy(mind), age));
+        if (snapshot.getDatasources() != null) {
+            snapshot.getDatasources().forEach(datasource -> datasources.put(datasource.getName(), copy(datasource), age));
+        }
+        putRevalidation(MetadataSnapshot.MIND_LIST_ENDPOINT, snapshot.getMinds().getEtag(),
+                snapshot.getMinds().getLastModified(), snapshot.getMinds().getValue());
+    }
+
+    /**
+     * Drops every cached mind whose name is not in the given collection, e.g. minds loaded from a
+     * snapshot that have since been dropped on the server.
+     *
+     * @param mindNames the names of the minds that still exist
+     */
+    public void retainMinds(Collection<String> mindNames) {
+        minds.invalidateIf((name, mind) -> !mindNames.contains(name));
+    }
+
+    /**
+     * Drops every cached datasource whose name is not in the given collection.
+     *
+     * @param datasourceNames the names of the datasources that still exist
+     */
+    public void retainDatasources(Collection<String> datasourceNames) {
+        datasources.invalidateIf((name, datasource) -> !datasourceNames.contains(name));
+    }
+
+    /**
+     * Drops every cached mind and datasource, and every kept validator.
+     */
+    public void invalidateAll() {
+        minds.invalidateAll();
+        datasources.invalidateAll();
+        if (revalidations != null) revalidations.invalidateAll();
+    }
+
+    /**
+     * Returns the statistics of the mind cache.
+     *
+     * @return hit, miss, eviction and expiration counts for minds
+     */
+    public CacheStats mindStats() {
+        return minds.stats();
+    }
+
+    /**
+     * Returns the statistics of the datasource cache.
+     *
+     * @return hit, miss, eviction and expiration counts for datasources
+     */
+    public CacheStats datasourceStats() {
+        return datasources.stats();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyValue(T value) {
+        if (value instanceof Mind) return (T) copy((Mind) value);
+        if (value instanceof Datasource) return (T) copy((Datasource) value);
+        if (value instanceof List) {
+            List<Object> copied = new ArrayList<>();
+            for (Object element : (List<?>) value) copied.add(copyValue(element));
+            return (T) copied;
+        }
+        return value;
+    }
+
+    private static Mind copy(Mind mind) {
+        return mind.toBuilder()
+                .datasources(mind.getDatasources() == null ? null : new ArrayList<>(mind.getDatasources()))
+                .parameters(mind.getParameters() == null ? null : mind.getParameters().deepCopy())
+                .build();
+    }
+
+    private static Datasource copy(Datasource datasource) {
+        if (datasource.getName() == null || datasource.getEngine() == null
+                || datasource.getDescription() == null || datasource.getConnection_data() == null) {
+            return Constants.gson.fromJson(Constants.gson.toJson(datasource), Datasource.class);
+        }
+        return new Datasource(datasource.getName(), datasource.getEngine(), datasource.getDescription(),
+                datasource.getConnection_data().deepCopy(),
+                datasource.getTables() == null ? null : new ArrayList<>(datasource.getTables()));
+    }
+}
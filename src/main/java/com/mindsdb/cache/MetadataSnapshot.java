@@ -0,0 +1,142 @@
+package com.mindsdb.cache;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.mindsdb.models.Datasource;
+import com.mindsdb.models.Mind;
+import com.mindsdb.utils.Constants;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Minds and datasources of an account saved to a file, used to warm the {@link MetadataCache} of a
+ * new process without waiting for the server.
+ * <p>
+ * The validators of the mind list response are saved with the list, so the first list call after
+ * loading a snapshot is conditional and costs a {@code 304 Not Modified} when nothing changed.
+ * Datasources are saved without their connection data, which holds hosts, users and passwords that
+ * must not end up in a file; for the same reason their list is always read again in full. Where the
+ * file system supports POSIX permissions, the file is readable by its owner only.
+ * </p>
+ */
+@Slf4j
+@Getter
+@AllArgsConstructor
+public class MetadataSnapshot {
+
+    static final String MIND_LIST_ENDPOINT = String.format(Constants.LIST_MIND_ENDPOINT, Constants.MINDS_PROJECT);
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
+
+    /** Time the snapshot was taken, in milliseconds since the epoch. */
+    private final long takenAt;
+
+    /** The minds, with the validators of the list response they were read from. */
+    private final Revalidation<List<Mind>> minds;
+
+    /** The datasources, without their connection data; {@code null} in snapshots that did not save them. */
+    private final List<Datasource> datasources;
+
+    /**
+     * Creates a snapshot of freshly listed minds and datasources, taking the validators of the mind
+     * list response from the cache and leaving out the connection data of the datasources.
+     *
+     * @param cache       the cache that kept the validators of the list response
+     * @param minds       all minds of the account
+     * @param datasources all datasources of the account
+     * @return the snapshot
+     */
+    public static MetadataSnapshot capture(MetadataCache cache, List<Mind> minds, List<Datasource> datasources) {
+        Revalidation<List<Mind>> mindList = cache.<List<Mind>>getRevalidation(MIND_LIST_ENDPOINT)
+                .map(revalidation -> new Revalidation<>(revalidation.getEtag(), revalidation.getLastModified(), minds))
+                .orElse(new Revalidation<>(null, null, minds));
+        List<Datasource> strippedDatasources = datasources.stream().map(MetadataSnapshot::withoutConnectionData).collect(Collectors.toList());
+        return new MetadataSnapshot(System.currentTimeMillis(), mindList, strippedDatasources);
+    }
+
+    /**
+     * Returns how long ago the snapshot was taken.
+     *
+     * @return the age of the snapshot, never negative
+     */
+    public Duration getAge() {
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - takenAt));
+    }
+
+    /**
+     * Returns whether the snapshot was taken longer ago than the given age.
+     *
+     * @param maxAge the oldest snapshot still considered current
+     * @return {@code true} if the snapshot is older than {@code maxAge}
+     */
+    public boolean isOlderThan(Duration maxAge) {
+        return getAge().compareTo(maxAge) > 0;
+    }
+
+    /**
+     * Reads a snapshot from a file.
+     *
+     * @param path the file written by {@link #write(Path)}
+     * @return the snapshot
+     * @throws IOException if the file cannot be read or does not hold a snapshot
+     */
+    public static MetadataSnapshot read(Path path) throws IOException {
+        MetadataSnapshot snapshot;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            snapshot = Constants.gson.fromJson(reader, MetadataSnapshot.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Unreadable metadata snapshot " + path, e);
+        }
+        if (snapshot == null || snapshot.minds == null || snapshot.minds.getValue() == null) {
+            throw new IOException("Incomplete metadata snapshot " + path);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Writes the snapshot to a file as compact JSON. The file is replaced atomically where the file
+     * system supports it, so a process starting meanwhile never reads a partial snapshot, and is
+     * created readable by its owner only where the file system supports POSIX permissions.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        Path written = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(written);
+        if (written.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(written, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(written, StandardCharsets.UTF_8)) {
+            Constants.gson.toJson(this, out);
+        }
+        try {
+            Files.move(written, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(written, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        log.debug("Wrote snapshot of {} minds and {} datasources to {}", minds.getValue().size(), datasources.size(), path);
+    }
+
+    private static Datasource withoutConnectionData(Datasource datasource) {
+        JsonObject json = Constants.gson.toJsonTree(datasource).getAsJsonObject();
+        json.remove("connection_data");
+        return Constants.gson.fromJson(json, Datasource.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.mindsdb.cache;
+
+import com.mindsdb.utils.Constants;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Validators of a previously read response together with the object parsed from it, so that a
+ * {@code 304 Not Modified} answer to a conditional request can be served without parsing again.
+ *
+ * @param <T> the type of the parsed object
+ */
+@Getter
+@AllArgsConstructor
+public class Revalidation<T> {
+
+    /** {@code ETag} of the response, or {@code null} if it had none. */
+    private final String etag;
+
+    /** {@code Last-Modified} of the response, or {@code null} if it had none. */
+    private final String lastModified;
+
+    /** Object parsed from the response body. */
+    private final T value;
+
+    /**
+     * Returns the headers that make a GET conditional on the resource having changed.
+     *
+     * @return the {@code If-None-Match} and {@code If-Modified-Since} headers for the stored validators
+     */
+    public Map<String, String> conditionalHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (etag != null) headers.put(Constants.IF_NONE_MATCH_HEADER, etag);
+        if (lastModified != null) headers.put(Constants.IF_MODIFIED_SINCE_HEADER, lastModified);
+        return headers;
+    }
+}
@@ -0,0 +1,128 @@
+package com.mindsdb.client;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * HTTP client that hands the future of every asynchronous exchange to the caller.
+ * <p>
+ * The OpenAI client derives its futures from the one returned by {@link HttpClient#sendAsync},
+ * and cancelling a derived future does not reach the exchange. Calls made inside
+ * {@link #capturing(Consumer, Supplier)} report the exchange future itself, whose cancellation
+ * aborts the request.
+ * </p>
+ */
+class AbortableHttpClient extends HttpClient {
+
+    private static final ThreadLocal<Consumer<CompletableFuture<?>>> EXCHANGES = new ThreadLocal<>();
+
+    private final HttpClient delegate;
+
+    AbortableHttpClient(HttpClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Runs a call, passing the futures of the exchanges it starts on the calling thread to
+     * {@code exchanges}.
+     *
+     * @param exchanges receives the future of each exchange
+     * @param call      the call that sends the requests
+     * @param <T>       the result type of the call
+     * @return the result of the call
+     */
+    static <T> T capturing(Consumer<CompletableFuture<?>> exchanges, Supplier<T> call) {
+        EXCHANGES.set(exchanges);
+        try {
+            return call.get();
+        } finally {
+            EXCHANGES.remove();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        return captured(delegate.sendAsync(request, responseBodyHandler));
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler,
+                                                            HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        return captured(delegate.sendAsync(request, responseBodyHandler, pushPromiseHandler));
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) throws IOException, InterruptedException {
+        return delegate.send(request, responseBodyHandler);
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+
+    @Override
+    public WebSocket.Builder newWebSocketBuilder() {
+        return delegate.newWebSocketBuilder();
+    }
+
+    private static <T> CompletableFuture<T> captured(CompletableFuture<T> exchange) {
+        Consumer<CompletableFuture<?>> exchanges = EXCHANGES.get();
+        if (exchanges != null) exchanges.accept(exchange);
+        return exchange;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mindsdb.client;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A fair counting semaphore whose permits can be awaited either by blocking the calling thread
+ * or through a {@link CompletableFuture}, so synchronous and asynchronous requests draw from the
+ * same pool without parking a thread per pending asynchronous request.
+ */
+class AsyncSemaphore {
+
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+    private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int available;
+
+    AsyncSemaphore(int permits) {
+        this.available = permits;
+    }
+
+    /**
+     * Acquires a permit without blocking.
+     *
+     * @return a future that completes once the permit has been granted
+     */
+    CompletableFuture<Void> acquireAsync() {
+        synchronized (this) {
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                return ACQUIRED;
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    /**
+     * Acquires a permit, blocking until one is available.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting; no permit is held then
+     */
+    void acquire() throws InterruptedException {
+        CompletableFuture<Void> waiter = acquireAsync();
+        try {
+            waiter.get();
+        } catch (InterruptedException e) {
+            if (!waiter.cancel(false)) release();
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns a permit, handing it directly to the oldest waiter if there is one.
+     */
+    void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            if (next.complete(null)) return;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.mindsdb.client;
+
+import com.mindsdb.exception.CircuitBreakerOpenException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker of a single route: closed while the route is healthy, open after a run of
+ * failures, and half-open once the open period has passed, letting one trial request through.
+ */
+@Slf4j
+class CircuitBreaker {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String route;
+    private final CircuitBreakerConfig config;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(String route, CircuitBreakerConfig config) {
+        this.route = route;
+        this.config = config;
+    }
+
+    /**
+     * Admits a request, or rejects it while the breaker is open or a trial request is in flight.
+     *
+     * @throws CircuitBreakerOpenException if the request must not be sent
+     */
+    synchronized void acquirePermission() throws CircuitBreakerOpenException {
+        if (!config.isEnabled()) return;
+        if (state == State.OPEN && System.nanoTime() - openedAt >= config.getOpenDuration().toNanos()) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+            throw new CircuitBreakerOpenException("Circuit breaker for " + route + " is open after repeated failures");
+        }
+        if (state == State.HALF_OPEN) trialInFlight = true;
+    }
+
+    synchronized void onSuccess() {
+        if (state != State.CLOSED) log.info("Circuit breaker for {} closed", route);
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        if (!config.isEnabled()) return;
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= config.getFailureThreshold()) {
+            if (state != State.OPEN) log.warn("Circuit breaker for {} opened after {} failures", route, consecutiveFailures);
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Records a request that failed for a reason unrelated to the health of the route, such as an
+     * interceptor error, so that a trial request does not block the breaker.
+     */
+    synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mindsdb.client;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of the per-route circuit breakers of a {@link RestClient}.
+ * <p>
+ * After {@link #failureThreshold} consecutive server errors or connection failures on a route, the
+ * breaker opens and requests to that route fail with a
+ * {@link com.mindsdb.exception.CircuitBreakerOpenException} without being sent. Once
+ * {@link #openDuration} has passed, a single trial request is let through; its success closes the
+ * breaker again, its failure keeps it open for another period.
+ * </p>
+ */
+@Getter
+@Builder
+public class CircuitBreakerConfig {
+
+    /** Whether requests are guarded by circuit breakers. */
+    @Builder.Default private boolean enabled = true;
+
+    /** Consecutive failures on a route that open its breaker. */
+    @Builder.Default private int failureThreshold = 5;
+
+    /** How long an open breaker rejects requests before letting a trial request through. */
+    @Builder.Default private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default circuit breaker configuration
+     */
+    public static CircuitBreakerConfig defaults() {
+        return CircuitBreakerConfig.builder().build();
+    }
+}
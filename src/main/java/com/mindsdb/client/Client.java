@@ -1,23 +1,42 @@
 package com.mindsdb.client;
 
+import com.mindsdb.cache.CompletionCache;
+import com.mindsdb.cache.MetadataCache;
+import com.mindsdb.cache.MetadataSnapshot;
+import com.mindsdb.metrics.ClientMetrics;
+import com.mindsdb.reconcile.Reconciler;
 import com.mindsdb.services.DatasourcesService;
 import com.mindsdb.services.MindsService;
+import com.mindsdb.models.Datasource;
+import com.mindsdb.models.Mind;
+import com.mindsdb.utils.Constants;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * The {@code Client} class provides an interface for interacting with the Minds and Datasources services.
  * It manages the creation and lifecycle of the {@link RestClient}, {@link MindsService},
- * and {@link DatasourcesService} instances.
+ * {@link DatasourcesService} and {@link Reconciler} instances.
  * <p>
  * This class is designed to facilitate communication with an API using the specified API key and optional
  * base URL.
  * </p>
  */
+@Slf4j
 public class Client {
 
     private final RestClient restClient;
     public final MindsService mindsService;
     public final DatasourcesService datasourcesService;
+    public final Reconciler reconciler;
 
     /**
      * Constructs a new {@code Client} with the specified API key.
@@ -30,9 +49,7 @@ public class Client {
      * @param apiKey the API key used for authentication
      */
     public Client(String apiKey) {
-        this.restClient = new RestClient(apiKey);
-        this.mindsService = new MindsService(restClient);
-        this.datasourcesService = new DatasourcesService(restClient);
+        this(apiKey, Constants.MINDS_CLOUD_ENDPOINT);
     }
 
     /**
@@ -47,13 +64,133 @@ public class Client {
      * @param baseUrl the base URL of the API
      */
     public Client(String apiKey, String baseUrl) {
-        this.restClient = new RestClient(apiKey, baseUrl);
+        this(apiKey, baseUrl, ClientConfig.defaults());
+    }
+
+    /**
+     * Constructs a new {@code Client} with the specified API key, base URL and connection pool settings.
+     * The client owns its own transport, so several clients with different API keys or regions can
+     * run side by side in one JVM.
+     *
+     * @param apiKey     the API key used for authentication
+     * @param baseUrl    the base URL of the API
+     * @param poolConfig the connection pool settings of the client's transport
+     */
+    public Client(String apiKey, String baseUrl, ConnectionPoolConfig poolConfig) {
+        this(apiKey, baseUrl, ClientConfig.builder().connectionPool(poolConfig).build());
+    }
+
+    /**
+     * Constructs a new {@code Client} with the specified API key, base URL and client settings
+     * such as the connection pool and the metadata cache.
+     *
+     * @param apiKey  the API key used for authentication
+     * @param baseUrl the base URL of the API
+     * @param config  the settings of the client
+     */
+    public Client(String apiKey, String baseUrl, ClientConfig config) {
+        this.restClient = new RestClient(apiKey, baseUrl, config);
         this.mindsService = new MindsService(restClient);
         this.datasourcesService = new DatasourcesService(restClient);
+        this.reconciler = new Reconciler(mindsService, datasourcesService);
+    }
+
+    /**
+     * Returns the cache of minds and datasources shared by this client's services,
+     * e.g. to read its hit/miss statistics or to invalidate it.
+     *
+     * @return the metadata cache of this client
+     */
+    public MetadataCache getMetadataCache() {
+        return restClient.getMetadataCache();
+    }
+
+    /**
+     * Returns the cache of completion answers shared by this client's minds.
+     *
+     * @return the completion cache of this client
+     */
+    public CompletionCache getCompletionCache() {
+        return restClient.getCompletionCache();
+    }
+
+    /**
+     * Returns the metrics this client reports its requests to, as configured in {@code ClientConfig.metrics}.
+     *
+     * @return the metrics of this client
+     */
+    public ClientMetrics getMetrics() {
+        return restClient.getMetrics();
+    }
+
+    /**
+     * Returns the rate limiter this client shares with every other client of its API key.
+     *
+     * @return the rate limiter of this client's API key
+     */
+    public RateLimiter getRateLimiter() {
+        return restClient.getRateLimiter();
+    }
+
+    /**
+     * Lists every mind and datasource of the account and writes them to a snapshot file, which
+     * {@link #importSnapshot(Path)} loads to warm the caches of a later process. The connection data
+     * of the datasources is left out, since it holds credentials; the file is created readable by
+     * its owner only where the file system supports POSIX permissions.
+     *
+     * @param path the file to write
+     * @throws Exception if the list cannot be read or the file cannot be written
+     */
+    public void exportSnapshot(Path path) throws Exception {
+        List<Mind> minds = mindsService.list().orElse(List.of());
+        List<Datasource> datasources = datasourcesService.list().orElse(List.of());
+        MetadataSnapshot.capture(getMetadataCache(), minds, datasources).write(path);
+    }
+
+    /**
+     * Warms the metadata cache from a snapshot file written by {@link #exportSnapshot(Path)} unless
+     * it is older than {@link Constants#SNAPSHOT_MAX_AGE}.
+     *
+     * @param path the snapshot file
+     * @return a future completed when the snapshot has been revalidated
+     * @throws IOException if the file cannot be read or does not hold a snapshot
+     * @see #importSnapshot(Path, Duration)
+     */
+    public CompletableFuture<Void> importSnapshot(Path path) throws IOException {
+        return importSnapshot(path, Constants.SNAPSHOT_MAX_AGE);
+    }
+
+    /**
+     * Warms the metadata cache from a snapshot file written by {@link #exportSnapshot(Path)}, then
+     * revalidates it against the server in the background. Minds and datasources are served from
+     * the snapshot straight away and expire as if they had been read when it was taken; the
+     * background mind list call is conditional and costs a {@code 304 Not Modified} when nothing
+     * changed, and minds dropped since the snapshot are evicted. Datasources are listed in full in
+     * the background, which restores their connection data and evicts the dropped ones. A snapshot
+     * older than {@code maxAge} is not loaded, and the background list calls fill the cache instead.
+     *
+     * @param path   the snapshot file
+     * @param maxAge the oldest snapshot that is still loaded
+     * @return a future completed when the snapshot has been revalidated
+     * @throws IOException if the file cannot be read or does not hold a snapshot
+     */
+    public CompletableFuture<Void> importSnapshot(Path path, Duration maxAge) throws IOException {
+        MetadataSnapshot snapshot = MetadataSnapshot.read(path);
+        MetadataCache cache = getMetadataCache();
+        if (snapshot.isOlderThan(maxAge)) {
+            log.warn("Ignoring metadata snapshot {} taken at {}: older than {}", path, Instant.ofEpochMilli(snapshot.getTakenAt()), maxAge);
+        } else {
+            cache.load(snapshot);
+        }
+        CompletableFuture<Void> minds = mindsService.listAsync().thenAccept(list -> cache.retainMinds(
+                list.orElse(List.of()).stream().map(Mind::getName).collect(Collectors.toSet())));
+        CompletableFuture<Void> datasources = datasourcesService.listAsync().thenAccept(list -> cache.retainDatasources(
+                list.orElse(List.of()).stream().map(Datasource::getName).collect(Collectors.toSet())));
+        return CompletableFuture.allOf(minds, datasources);
     }
 
     /**
-     * Shuts down the connection managed by the {@link RestClient}.
+     * Shuts down the connection managed by the {@link RestClient}. Other clients keep working.
      * This method should be called when the client is no longer needed
      * to release resources associated with the connection.
      */
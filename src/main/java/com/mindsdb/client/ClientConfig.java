@@ -0,0 +1,73 @@
+package com.mindsdb.client;
+
+import com.mindsdb.cache.CacheConfig;
+import com.mindsdb.cache.CompletionCacheConfig;
+import com.mindsdb.client.transport.TransportFactory;
+import com.mindsdb.metrics.ClientMetrics;
+import com.mindsdb.metrics.InMemoryClientMetrics;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.util.List;
+
+/**
+ * Groups the tunable settings of a {@link Client} and its {@link RestClient}.
+ * Every setting has a sensible default, so only the parts that differ need to be set.
+ */
+@Getter
+@Builder
+public class ClientConfig {
+
+    /** Connection pool settings of the client's transport. */
+    @Builder.Default private ConnectionPoolConfig connectionPool = ConnectionPoolConfig.defaults();
+
+    /** Settings of the mind and datasource metadata cache. */
+    @Builder.Default private CacheConfig cache = CacheConfig.defaults();
+
+    /** Settings of the completion engine shared by the client's minds. */
+    @Builder.Default private CompletionConfig completion = CompletionConfig.defaults();
+
+    /** Settings of the opt-in cache of completion answers. */
+    @Builder.Default private CompletionCacheConfig completionCache = CompletionCacheConfig.defaults();
+
+    /**
+     * Receives the latency, status, retry, in-flight and byte measurements of every request. Defaults
+     * to an {@link InMemoryClientMetrics}; supply an adapter to export to a metrics backend, or
+     * {@link ClientMetrics#noop()} to turn recording off.
+     */
+    @Builder.Default private ClientMetrics metrics = new InMemoryClientMetrics();
+
+    /** Retry policy for requests failing with a transient error. */
+    @Builder.Default private RetryPolicy retry = RetryPolicy.defaults();
+
+    /** Settings of the per-route circuit breakers. */
+    @Builder.Default private CircuitBreakerConfig circuitBreaker = CircuitBreakerConfig.defaults();
+
+    /** Request rates of the limiter shared by every client of the API key. */
+    @Builder.Default private RateLimitConfig rateLimit = RateLimitConfig.defaults();
+
+    /**
+     * Whether concurrent identical GET requests share one request in flight. Callers that join a
+     * request receive its response without passing through the interceptors themselves.
+     */
+    @Builder.Default private boolean coalesceReads = true;
+
+    /**
+     * Creates the HTTP transport of the client. Defaults to {@link TransportFactory#unirest()};
+     * {@link TransportFactory#http2()} multiplexes requests, including completions, over HTTP/2.
+     */
+    @Builder.Default private TransportFactory transport = TransportFactory.unirest();
+
+    /** Interceptors every request passes through, in the order they run before sending. */
+    @Singular private List<RequestInterceptor> interceptors;
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default client configuration
+     */
+    public static ClientConfig defaults() {
+        return ClientConfig.builder().build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.mindsdb.client;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link CompletionEngine} that serves chat completions for every {@code Mind}
+ * obtained through a client.
+ * <p>
+ * {@code connectTimeout} and {@code ioThreads} configure the
+ * HTTP client the engine builds for itself. They have no effect when the client's transport exposes
+ * a {@code java.net.http} client, such as {@code TransportFactory.http2()}, because completions then
+ * use that client, which takes its connect timeout from {@link ConnectionPoolConfig} and runs on
+ * the JDK's default executor.
+ * </p>
+ */
+@Getter
+@Builder
+public class CompletionConfig {
+
+    /** Timeout for a whole completion request. */
+    @Builder.Default private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /** Timeout for establishing a new connection to the completion endpoint. Ignored when the transport supplies the HTTP client. */
+    @Builder.Default private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /** Maximum number of non-streaming completions in flight at once. */
+    @Builder.Default private int maxConcurrentCompletions = 32;
+
+    /** Number of threads the engine's own HTTP client uses to process responses. Ignored when the transport supplies the HTTP client. */
+    @Builder.Default private int ioThreads = 4;
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default completion configuration
+     */
+    public static CompletionConfig defaults() {
+        return CompletionConfig.builder().build();
+    }
+}
@@ -0,0 +1,334 @@
+package com.mindsdb.client;
+
+import com.mindsdb.metrics.ClientMetrics;
+import com.mindsdb.utils.Constants;
+import com.mindsdb.utils.Utils;
+import io.github.stefanbratanov.jvm.openai.ChatClient;
+import io.github.stefanbratanov.jvm.openai.ChatCompletion;
+import io.github.stefanbratanov.jvm.openai.ChatCompletionChunk;
+import io.github.stefanbratanov.jvm.openai.ChatMessage;
+import io.github.stefanbratanov.jvm.openai.CreateChatCompletionRequest;
+import io.github.stefanbratanov.jvm.openai.OpenAI;
+import io.github.stefanbratanov.jvm.openai.OpenAIException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Serves chat completions for all {@code Mind} handles of a client.
+ * <p>
+ * Every {@link RestClient} owns one engine, created on the first completion with the client's
+ * {@link CompletionConfig} and closed by {@link RestClient#shutDown()}, so clients never share
+ * timeouts, concurrency limits or threads. When the client's transport exposes a
+ * {@code java.net.http} client, completions are sent through it and share its connections; the
+ * engine then builds no client of its own. Every completion takes a token from
+ * the completions budget of the API key's {@link RateLimiter}.
+ * </p>
+ */
+@Slf4j
+public class CompletionEngine implements AutoCloseable {
+
+    private final String apiKey;
+    private final String openAIBaseUrl;
+    @Getter private final CompletionConfig config;
+    @Getter private final RateLimiter rateLimiter;
+    private final ClientMetrics metrics;
+    private final Supplier<HttpClient> httpClients;
+    private final ExecutorService ioExecutor;
+    private final AsyncSemaphore completionPermits;
+    private final ExecutorService streamExecutor = newStreamExecutor();
+    private volatile Binding binding;
+
+    /**
+     * Creates an engine with an HTTP client of its own, built from the configuration.
+     *
+     * @param apiKey        the API key used for authentication
+     * @param openAIBaseUrl the base URL of the OpenAI-compatible completion endpoint
+     * @param config        the settings of the engine
+     * @param rateLimiter   the rate limiter of the API key
+     */
+    public CompletionEngine(String apiKey, String openAIBaseUrl, CompletionConfig config, RateLimiter rateLimiter) {
+        this(apiKey, openAIBaseUrl, config, rateLimiter, ClientMetrics.noop(), null);
+    }
+
+    /**
+     * Creates an engine that sends completions through the HTTP client returned by
+     * {@code httpClients} at the time of each request.
+     *
+     * @param apiKey        the API key used for authentication
+     * @param openAIBaseUrl the base URL of the OpenAI-compatible completion endpoint
+     * @param config        the settings of the engine
+     * @param rateLimiter   the rate limiter of the API key
+     * @param metrics       receives the time to first token and token rate of streamed completions
+     * @param httpClients   supplies the current HTTP client of the transport, or {@code null} to
+     *                      build one from the configuration
+     */
+    CompletionEngine(String apiKey, String openAIBaseUrl, CompletionConfig config, RateLimiter rateLimiter, ClientMetrics metrics,
+                     Supplier<HttpClient> httpClients) {
+        this.apiKey = apiKey;
+        this.openAIBaseUrl = openAIBaseUrl;
+        this.config = config;
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.completionPermits = new AsyncSemaphore(config.getMaxConcurrentCompletions());
+        if (httpClients != null) {
+            this.ioExecutor = null;
+            this.httpClients = httpClients;
+        } else {
+            this.ioExecutor = newExecutor(config.getIoThreads());
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .connectTimeout(config.getConnectTimeout())
+                    .executor(ioExecutor)
+                    .build();
+            this.httpClients = () -> httpClient;
+        }
+        log.debug("Created completion engine for {}", openAIBaseUrl);
+    }
+
+    /**
+     * Returns the OpenAI client bound to the current HTTP client.
+     *
+     * @return the OpenAI client of this engine
+     */
+    public OpenAI getOpenAI() {
+        return binding().openAI;
+    }
+
+    /**
+     * Returns the chat client bound to the current HTTP client.
+     *
+     * @return the chat client of this engine
+     */
+    public ChatClient getChatClient() {
+        return binding().chatClient;
+    }
+
+    /**
+     * Shuts down the threads of this engine. Streams already being read finish on their threads;
+     * no new completion can be started.
+     */
+    @Override
+    public void close() {
+        streamExecutor.shutdown();
+        if (ioExecutor != null) ioExecutor.shutdown();
+        log.debug("Closed completion engine for {}", openAIBaseUrl);
+    }
+
+    /**
+     * Returns whether {@link #close()} has been called.
+     *
+     * @return {@code true} once the engine is closed
+     */
+    public boolean isClosed() {
+        return streamExecutor.isShutdown();
+    }
+
+    /**
+     * Sends a chat completion request, waiting for a rate limit token and for a free slot if the
+     * concurrency limit is reached.
+     *
+     * @param model    the model, i.e. the name of the mind
+     * @param messages the conversation to complete
+     * @return the content of the first choice
+     * @throws CancellationException if the thread is interrupted while waiting; the completion is
+     *                               not sent and the interrupt status is kept
+     */
+    public String complete(String model, List<ChatMessage> messages) {
+        try {
+            rateLimiter.getCompletions().acquire();
+            completionPermits.acquire();
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+        try {
+            return getChatClient().createChatCompletion(buildRequest(model, messages, false)).choices().get(0).message().content();
+        } catch (OpenAIException e) {
+            onFailure(e);
+            throw e;
+        } finally {
+            completionPermits.release();
+        }
+    }
+
+    /**
+     * Sends a chat completion request without blocking the calling thread.
+     * <p>
+     * Cancelling the returned future aborts the HTTP exchange and frees its slot at once; a
+     * completion cancelled while waiting for a slot is not sent.
+     * </p>
+     *
+     * @param model    the model, i.e. the name of the mind
+     * @param messages the conversation to complete
+     * @return a future completed with the content of the first choice
+     */
+    public CompletableFuture<String> completeAsync(String model, List<ChatMessage> messages) {
+        CreateChatCompletionRequest request = buildRequest(model, messages, false);
+        CompletableFuture<String> completion = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> exchange = new AtomicReference<>();
+        rateLimiter.getCompletions().acquireAsync()
+                .thenCompose(ready -> completionPermits.acquireAsync())
+                .thenCompose(acquired -> {
+                    CompletableFuture<ChatCompletion> response;
+                    if (completion.isDone()) {
+                        response = CompletableFuture.failedFuture(new CancellationException("Completion cancelled before it was sent"));
+                    } else {
+                        try {
+                            response = AbortableHttpClient.capturing(exchange::set, () -> getChatClient().createChatCompletionAsync(request));
+                        } catch (RuntimeException e) {
+                            response = CompletableFuture.failedFuture(e);
+                        }
+                        if (completion.isCancelled()) abort(exchange);
+                    }
+                    return response.whenComplete((chatCompletion, throwable) -> {
+                        completionPermits.release();
+                        if (throwable != null) onFailure(Utils.unwrap(throwable));
+                    });
+                })
+                .thenApply(chatCompletion -> chatCompletion.choices().get(0).message().content())
+                .whenComplete((content, throwable) -> {
+                    if (throwable != null) completion.completeExceptionally(throwable);
+                    else completion.complete(content);
+                });
+        completion.whenComplete((content, throwable) -> {
+            if (completion.isCancelled()) abort(exchange);
+        });
+        return completion;
+    }
+
+    /**
+     * Streams a chat completion. Streams are long-lived and do not count against the concurrency
+     * limit, but each one takes a rate limit token when it is opened.
+     *
+     * @param model    the model, i.e. the name of the mind
+     * @param messages the conversation to complete
+     * @return a lazy stream of chunks; closing it closes the connection
+     * @throws CancellationException if the thread is interrupted while waiting for a rate limit
+     *                               token; the request is not sent and the interrupt status is kept
+     */
+    public Stream<ChatCompletionChunk> stream(String model, List<ChatMessage> messages) {
+        try {
+            rateLimiter.getCompletions().acquire();
+        } catch (InterruptedException e) {
+            throw interrupted(e);
+        }
+        try {
+            return getChatClient().streamChatCompletion(buildRequest(model, messages, true));
+        } catch (OpenAIException e) {
+            onFailure(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Streams a chat completion as a publisher of content deltas. Chunks are read on a dedicated
+     * thread only while the subscriber has outstanding demand. When the stream ends, its time to
+     * first token and token rate are reported to the client's metrics.
+     *
+     * @param model    the model, i.e. the name of the mind
+     * @param messages the conversation to complete
+     * @return a publisher that sends the request when the subscriber first requests an item
+     */
+    public CompletionPublisher publish(String model, List<ChatMessage> messages) {
+        return new CompletionPublisher(() -> stream(model, messages), streamExecutor, this::reportStream);
+    }
+
+    private void reportStream(StreamMetrics stream) {
+        Duration timeToFirstToken = stream.getTimeToFirstToken();
+        metrics.streamCompleted("POST", Constants.COMPLETION_ROUTE, timeToFirstToken == null ? -1 : timeToFirstToken.toNanos(),
+                stream.getTokenCount(), stream.generationNanos());
+    }
+
+    /**
+     * Pauses the completions budget when the server rejects a completion for exceeding the quota.
+     * The OpenAI client does not expose the response headers, so the default pause applies.
+     */
+    private void onFailure(Throwable error) {
+        if (error instanceof OpenAIException && ((OpenAIException) error).statusCode() == 429) {
+            rateLimiter.getCompletions().throttled(null);
+        }
+    }
+
+    private static CancellationException interrupted(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        CancellationException cancelled = new CancellationException("Interrupted while waiting to send a completion");
+        cancelled.initCause(e);
+        return cancelled;
+    }
+
+    private static void abort(AtomicReference<CompletableFuture<?>> exchange) {
+        CompletableFuture<?> sent = exchange.get();
+        if (sent != null) sent.cancel(true);
+    }
+
+    /**
+     * Returns the OpenAI client for the current HTTP client, rebuilding it when the transport has
+     * replaced its HTTP client since the last request.
+     */
+    private Binding binding() {
+        HttpClient httpClient = httpClients.get();
+        Binding current = binding;
+        if (current == null || current.httpClient != httpClient) {
+            synchronized (this) {
+                if (binding == null || binding.httpClient != httpClient) {
+                    OpenAI openAI = OpenAI.newBuilder(apiKey)
+                            .baseUrl(openAIBaseUrl)
+                            .httpClient(new AbortableHttpClient(httpClient))
+                            .requestTimeout(config.getRequestTimeout())
+                            .build();
+                    binding = new Binding(httpClient, openAI);
+                }
+                current = binding;
+            }
+        }
+        return current;
+    }
+
+    private static CreateChatCompletionRequest buildRequest(String model, List<ChatMessage> messages, boolean stream) {
+        CreateChatCompletionRequest.Builder builder = CreateChatCompletionRequest.newBuilder()
+                .model(model)
+                .messages(messages);
+        if (stream) builder.stream(true);
+        return builder.build();
+    }
+
+    private static ExecutorService newExecutor(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "minds-completion-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Binding {
+        private final HttpClient httpClient;
+        private final OpenAI openAI;
+        private final ChatClient chatClient;
+
+        private Binding(HttpClient httpClient, OpenAI openAI) {
+            this.httpClient = httpClient;
+            this.openAI = openAI;
+            this.chatClient = openAI.chatClient();
+        }
+    }
+
+    private static ExecutorService newStreamExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "minds-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.mindsdb.client;
+
+import io.github.stefanbratanov.jvm.openai.ChatCompletionChunk;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Publishes the text of a streamed completion, one content delta per item.
+ * <p>
+ * Delivery is driven by demand: chunks are only read from the connection while the subscriber has
+ * outstanding requests, so a slow consumer pushes back on the server through TCP flow control
+ * instead of buffering the answer in memory. Cancelling the subscription closes the connection.
+ * The request is sent when the first item is requested, and a publisher accepts a single subscriber.
+ * </p>
+ */
+@Slf4j
+public class CompletionPublisher implements Flow.Publisher<String> {
+
+    private final Supplier<Stream<ChatCompletionChunk>> streamSupplier;
+    private final Executor executor;
+    private final Consumer<StreamMetrics> onFinished;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /** Time to first token and token rate of this stream, updated while it runs. */
+    @Getter private final StreamMetrics metrics = new StreamMetrics();
+
+    CompletionPublisher(Supplier<Stream<ChatCompletionChunk>> streamSupplier, Executor executor, Consumer<StreamMetrics> onFinished) {
+        this.streamSupplier = streamSupplier;
+        this.executor = executor;
+        this.onFinished = onFinished;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("A completion can only be consumed by one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new ChunkSubscription(subscriber));
+    }
+
+    private class ChunkSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super String> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidDemand;
+        private volatile Stream<ChatCompletionChunk> stream;
+        private Iterator<ChatCompletionChunk> chunks;
+
+        private ChunkSubscription(Flow.Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidDemand = new IllegalArgumentException("Demand must be positive, got " + n);
+                schedule();
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Stream<ChatCompletionChunk> openStream = stream;
+            if (openStream != null) openStream.close();
+            schedule();
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) executor.execute(this::drain);
+        }
+
+        /**
+         * Emits chunks while there is demand. Runs on one thread at a time; requests and
+         * cancellations arriving meanwhile are picked up before it returns.
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                if (invalidDemand != null) {
+                    finish(invalidDemand, !cancelled);
+                } else if (cancelled) {
+                    finish(null, false);
+                } else {
+                    try {
+                        emitWhileDemanded();
+                    } catch (RuntimeException e) {
+                        finish(e, !cancelled);
+                    }
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emitWhileDemanded() {
+            while (demand.get() > 0 && !cancelled && invalidDemand == null && !terminated.get()) {
+                if (chunks == null) {
+                    metrics.onStart();
+                    stream = streamSupplier.get();
+                    chunks = stream.iterator();
+                }
+                if (!chunks.hasNext()) {
+                    finish(null, true);
+                    return;
+                }
+                ChatCompletionChunk chunk = chunks.next();
+                if (chunk.usage() != null) metrics.onUsage(chunk.usage().completionTokens());
+                if (chunk.choices() == null || chunk.choices().isEmpty()) continue;
+                String content = chunk.choices().get(0).delta().content();
+                if (content == null || content.isEmpty()) continue;
+                metrics.onToken();
+                demand.decrementAndGet();
+                subscriber.onNext(content);
+            }
+        }
+
+        private void finish(Throwable error, boolean signal) {
+            if (!terminated.compareAndSet(false, true)) return;
+            metrics.onComplete();
+            if (stream != null) stream.close();
+            if (onFinished != null) onFinished.accept(metrics);
+            log.debug("Completion stream finished, {}", metrics);
+            if (!signal) return;
+            if (error == null) subscriber.onComplete();
+            else subscriber.onError(error);
+        }
+    }
+}
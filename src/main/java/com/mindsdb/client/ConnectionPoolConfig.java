@@ -0,0 +1,50 @@
+package com.mindsdb.client;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Connection pool settings for the HTTP transport owned by a single {@link RestClient}.
+ * <p>
+ * Every {@code RestClient} builds its own transport instance from this configuration, so clients
+ * created with different API keys or base URLs never share headers, pools or lifecycles.
+ * </p>
+ */
+@Getter
+@Builder
+public class ConnectionPoolConfig {
+
+    /** Maximum number of requests that may be in flight (and hence open connections) at once. */
+    @Builder.Default private int maxConnections = 20;
+
+    /**
+     * Maximum number of in-flight requests against a single route such as
+     * {@code /projects/{project}/minds}, so one busy route cannot take the whole pool.
+     */
+    @Builder.Default private int maxRequestsPerRoute = 10;
+
+    /** Timeout for establishing a new connection. */
+    @Builder.Default private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /** Timeout for a whole request; {@code null} disables the timeout. */
+    @Builder.Default private Duration requestTimeout = null;
+
+    /**
+     * How long the pool keeps an idle connection alive before evicting it. Both transports pool
+     * connections in {@code java.net.http}, which reads this once per JVM through the
+     * {@code jdk.httpclient.keepalive.timeout} system property: the first transport created sets it
+     * unless it is already set, and later values are ignored.
+     */
+    @Builder.Default private Duration idleTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default pool configuration
+     */
+    public static ConnectionPoolConfig defaults() {
+        return ConnectionPoolConfig.builder().build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.mindsdb.client;
+
+import java.util.List;
+
+/**
+ * Runs the configured {@link RequestInterceptor}s: forwards before sending, backwards afterwards.
+ */
+class InterceptorChain {
+
+    private final RequestInterceptor[] interceptors;
+
+    InterceptorChain(List<RequestInterceptor> interceptors) {
+        this.interceptors = interceptors.toArray(new RequestInterceptor[0]);
+    }
+
+    void beforeSend(RequestContext context) {
+        for (RequestInterceptor interceptor : interceptors) interceptor.beforeSend(context);
+        context.markSent();
+    }
+
+    void afterReceive(RequestContext context, int status, String responseBody) {
+        context.markReceived(status, responseBody);
+        for (int i = interceptors.length - 1; i >= 0; i--) interceptors[i].afterReceive(context);
+    }
+
+    void onError(RequestContext context, Throwable error) {
+        context.markFailed();
+        for (int i = interceptors.length - 1; i >= 0; i--) interceptors[i].onError(context, error);
+    }
+}
@@ -0,0 +1,46 @@
+package com.mindsdb.client;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Settings of the {@link RateLimiter} shared by every client of an API key.
+ * <p>
+ * Control-plane calls (minds and datasources) and chat completions draw from separate budgets, so
+ * a burst of completions cannot starve metadata calls or the other way round. Rates are unlimited
+ * by default; the limiter then only reacts to the server, pausing a budget when a 429 or an
+ * exhausted {@code RateLimit-Remaining} header says the quota is used up.
+ * </p>
+ */
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class RateLimitConfig {
+
+    /** Sustained control-plane requests per second; {@code 0} for no limit. */
+    @Builder.Default private double controlPlaneRate = 0;
+
+    /** Control-plane requests that may be sent back to back before the rate applies. */
+    @Builder.Default private int controlPlaneBurst = 10;
+
+    /** Sustained completion requests per second; {@code 0} for no limit. */
+    @Builder.Default private double completionRate = 0;
+
+    /** Completion requests that may be sent back to back before the rate applies. */
+    @Builder.Default private int completionBurst = 5;
+
+    /** Whether 429 responses and rate-limit headers pause or shrink the budgets. */
+    @Builder.Default private boolean adaptToServerHeaders = true;
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default rate limit configuration
+     */
+    public static RateLimitConfig defaults() {
+        return RateLimitConfig.builder().build();
+    }
+}
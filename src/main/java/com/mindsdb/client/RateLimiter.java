@@ -0,0 +1,63 @@
+package com.mindsdb.client;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client-side rate limiter of an API key, with one {@link TokenBucket} for control-plane calls and
+ * one for chat completions.
+ * <p>
+ * Limiters are shared: {@link #shared(String, RateLimitConfig)} returns the same limiter for every
+ * client using the same API key, so the services and minds of all those clients draw from one
+ * quota. The configuration of the first caller wins; a different configuration passed later is
+ * ignored with a warning.
+ * </p>
+ */
+@Slf4j
+public class RateLimiter {
+
+    private static final Map<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    /** Budget of the minds and datasources endpoints. */
+    @Getter private final TokenBucket controlPlane;
+
+    /** Budget of chat completions, streamed or not. */
+    @Getter private final TokenBucket completions;
+
+    /** The settings the limiter was created with. */
+    @Getter private final RateLimitConfig config;
+
+    /**
+     * Creates a limiter that is not shared with other clients.
+     *
+     * @param config the rates and bursts of the budgets
+     */
+    public RateLimiter(RateLimitConfig config) {
+        this.config = config;
+        this.controlPlane = new TokenBucket("control-plane", config.getControlPlaneRate(),
+                config.getControlPlaneBurst(), config.isAdaptToServerHeaders());
+        this.completions = new TokenBucket("completions", config.getCompletionRate(),
+                config.getCompletionBurst(), config.isAdaptToServerHeaders());
+    }
+
+    /**
+     * Returns the limiter for the API key, creating it on first use.
+     *
+     * @param apiKey the API key whose quota the limiter guards
+     * @param config the settings used if the limiter has to be created
+     * @return the shared limiter
+     */
+    public static RateLimiter shared(String apiKey, RateLimitConfig config) {
+        RateLimiter limiter = LIMITERS.computeIfAbsent(apiKey, key -> {
+            log.debug("Creating rate limiter");
+            return new RateLimiter(config);
+        });
+        if (!limiter.config.equals(config)) {
+            log.warn("Ignoring rate limit settings {}: the API key already uses {}", config, limiter.config);
+        }
+        return limiter;
+    }
+}
@@ -0,0 +1,114 @@
+package com.mindsdb.client;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State of one request as seen by the {@link RequestInterceptor}s of a client.
+ * <p>
+ * Interceptors may add headers before the request is sent and keep their own state, such as a
+ * tracing span, in the attributes so that it is available again when the response arrives.
+ * </p>
+ */
+public class RequestContext {
+
+    /** HTTP method of the request. */
+    @Getter private final String method;
+
+    /** Endpoint of the request relative to the API base URL, e.g. {@code /projects/mindsdb/minds/my_mind}. */
+    @Getter private final String endPoint;
+
+    /** Route template of the endpoint, e.g. {@code /projects/{project}/minds/{mind}}. */
+    @Getter private final String route;
+
+    /** Body of the request, or {@code null} for requests without one. */
+    @Getter private final String requestBody;
+
+    /** HTTP status of the response, or {@code -1} while no response has been received. */
+    @Getter private int status = -1;
+
+    /** Body of the response, or {@code null} while no response has been received or if it is streamed. */
+    @Getter private String responseBody;
+
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private long sentAt;
+    private long receivedAt;
+
+    RequestContext(String method, String endPoint, String route, String requestBody) {
+        this.method = method;
+        this.endPoint = endPoint;
+        this.route = route;
+        this.requestBody = requestBody;
+    }
+
+    /**
+     * Adds a header to the request, replacing a previous value set by an interceptor.
+     * Only effective before the request is sent.
+     *
+     * @param name  the header name
+     * @param value the header value
+     */
+    public void setHeader(String name, String value) {
+        headers.put(name, value);
+    }
+
+    /**
+     * Returns the headers added by interceptors; the client's default headers are not included.
+     *
+     * @return an unmodifiable view of the added headers
+     */
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Stores a value for later interceptor callbacks of the same request.
+     *
+     * @param key   the attribute name
+     * @param value the value
+     */
+    public void setAttribute(String key, Object value) {
+        attributes.put(key, value);
+    }
+
+    /**
+     * Returns a value stored with {@link #setAttribute(String, Object)}.
+     *
+     * @param key the attribute name
+     * @return the value, or {@code null} if none was stored
+     */
+    public Object getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    /**
+     * Returns the time from sending the request until the response or failure, or until now while
+     * the request is in flight.
+     *
+     * @return the elapsed time, or zero before the request is sent
+     */
+    public Duration getElapsed() {
+        if (sentAt == 0) return Duration.ZERO;
+        return Duration.ofNanos((receivedAt == 0 ? System.nanoTime() : receivedAt) - sentAt);
+    }
+
+    void markSent() {
+        sentAt = System.nanoTime();
+    }
+
+    void markReceived(int status, String responseBody) {
+        receivedAt = System.nanoTime();
+        this.status = status;
+        this.responseBody = responseBody;
+    }
+
+    void markFailed() {
+        if (receivedAt == 0) receivedAt = System.nanoTime();
+    }
+}
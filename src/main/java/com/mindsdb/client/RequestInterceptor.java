@@ -0,0 +1,41 @@
+package com.mindsdb.client;
+
+/**
+ * Hook into every HTTP request a client sends, e.g. to add correlation IDs, propagate trace
+ * context or time calls.
+ * <p>
+ * Interceptors run in the order they were configured before a request is sent, and in reverse
+ * order once it completes, so the first interceptor wraps all others. {@link #afterReceive} is
+ * called for every response, including error statuses; {@link #onError} is called when the call
+ * fails, either without a response or because the response status is an error. An exception
+ * thrown by an interceptor fails the call. Every attempt of a retried request gets its own
+ * context and callbacks. Asynchronous calls invoke the callbacks on the thread completing the request.
+ * </p>
+ */
+public interface RequestInterceptor {
+
+    /**
+     * Called before the request is sent. Headers added to the context are sent with the request.
+     *
+     * @param context the request
+     */
+    default void beforeSend(RequestContext context) {
+    }
+
+    /**
+     * Called when a response has been received, with its status and body set on the context.
+     *
+     * @param context the request
+     */
+    default void afterReceive(RequestContext context) {
+    }
+
+    /**
+     * Called when the call fails.
+     *
+     * @param context the request
+     * @param error   the failure, e.g. an {@code ObjectNotFoundException} or a connection error
+     */
+    default void onError(RequestContext context, Throwable error) {
+    }
+}
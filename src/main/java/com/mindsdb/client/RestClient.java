@@ -1,47 +1,136 @@
 package com.mindsdb.client;
 
+import com.mindsdb.cache.CompletionCache;
+import com.mindsdb.cache.MetadataCache;
+import com.mindsdb.cache.Revalidation;
 import com.mindsdb.utils.Constants;
+import com.mindsdb.exception.CircuitBreakerOpenException;
 import com.mindsdb.exception.ForbiddenException;
 import com.mindsdb.exception.ObjectNotFoundException;
 import com.mindsdb.exception.UnauthorizedException;
-import kong.unirest.core.Cache;
-import kong.unirest.core.HttpResponse;
-import kong.unirest.core.Unirest;
+import com.mindsdb.utils.Utils;
+import com.mindsdb.metrics.ClientMetrics;
+import com.mindsdb.metrics.RequestTimer;
+import com.mindsdb.client.transport.Transport;
+import com.mindsdb.client.transport.TransportRequest;
+import com.mindsdb.client.transport.TransportResponse;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * Utility class for sending HTTP requests using the Unirest library.
+ * Utility class for sending HTTP requests through a pluggable {@link Transport}.
  *
  * This class provides methods to simplify making HTTP requests, including
  * POST, PATCH, GET, and DELETE methods. Each method allows for the inclusion of
  * a request body where applicable.
  *
  * <p>
- * Note: Ensure that the Unirest library is included in your project dependencies
- * to use this class effectively. Proper error handling should be implemented
- * when processing the responses from the HTTP requests.
+ * Every {@code RestClient} owns its transport, created by the {@code ClientConfig.transport}
+ * factory on the first request, so base URL, authorization header and connection pool are never shared with other
+ * clients in the same JVM. The pool is sized and its idle connections are evicted according to
+ * the {@link ConnectionPoolConfig} supplied at construction time.
+ * HTTP responses are not cached; reads are cached per entity in the {@link MetadataCache},
+ * which the services invalidate on every write, and revalidated with conditional GETs once expired.
+ * </p>
+ * <p>
+ * Transient failures are retried with exponential backoff and jitter according to the
+ * {@link RetryPolicy}, and every route is guarded by a circuit breaker that fails requests fast
+ * while the backend keeps failing; see {@link CircuitBreakerConfig}. Every attempt first takes a
+ * token from the control-plane budget of the {@link RateLimiter} shared by the API key.
  * </p>
  */
-@Getter
 @Slf4j
 public class RestClient {
 
-    private final String apiKey;
-    private final String baseUrl;
+    @Getter private final String apiKey;
+    @Getter private final String baseUrl;
+    @Getter private final ClientConfig config;
+    @Getter private final ConnectionPoolConfig poolConfig;
+    @Getter private final MetadataCache metadataCache;
+    @Getter private final CompletionCache completionCache;
+    @Getter private final ClientMetrics metrics;
+    @Getter private final RateLimiter rateLimiter;
+    private final InterceptorChain interceptors;
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
 
-    public RestClient(String apiKey, String baseUrl) {
+    private volatile Transport transport;
+    private final AsyncSemaphore connectionPermits;
+    private final Map<String, AsyncSemaphore> routePermits = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final SingleFlight<String, TransportResponse<String>> readFlights = new SingleFlight<>();
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private volatile CompletionEngine completionEngine;
+
+    public RestClient(String apiKey, String baseUrl, ClientConfig config) {
         this.apiKey = apiKey;
         this.baseUrl = baseUrl;
-        configureUnirest(apiKey, baseUrl);
+        this.config = config;
+        this.poolConfig = config.getConnectionPool();
+        this.metadataCache = new MetadataCache(config.getCache());
+        this.completionCache = new CompletionCache(config.getCompletionCache());
+        this.metrics = config.getMetrics();
+        this.interceptors = new InterceptorChain(config.getInterceptors());
+        this.rateLimiter = RateLimiter.shared(apiKey, config.getRateLimit());
+        this.retryPolicy = config.getRetry();
+        this.retryBudget = new RetryBudget(retryPolicy);
+        this.connectionPermits = new AsyncSemaphore(poolConfig.getMaxConnections());
+    }
+
+    public RestClient(String apiKey, String baseUrl, ConnectionPoolConfig poolConfig) {
+        this(apiKey, baseUrl, ClientConfig.builder().connectionPool(poolConfig).build());
+    }
+
+    public RestClient(String apiKey, String baseUrl) {
+        this(apiKey, baseUrl, ClientConfig.defaults());
     }
 
     public RestClient(String apiKey) {
-        this.apiKey = apiKey;
-        this.baseUrl = Constants.MINDS_CLOUD_ENDPOINT;
-        configureUnirest(apiKey, baseUrl);
+        this(apiKey, Constants.MINDS_CLOUD_ENDPOINT);
+    }
+
+    /**
+     * Returns the completion engine of this client, creating it on first use. All minds obtained
+     * through this client share it; it is closed by {@link #shutDown()}. When the transport
+     * exposes a {@code java.net.http} client, completions are sent through it, so they are
+     * multiplexed over the same connections.
+     *
+     * @return the completion engine of this client
+     * @throws URISyntaxException if the base URL for OpenAI is invalid
+     */
+    public CompletionEngine getCompletionEngine() throws URISyntaxException {
+        CompletionEngine engine = completionEngine;
+        if (engine == null) {
+            synchronized (this) {
+                if (completionEngine == null) {
+                    Supplier<HttpClient> httpClients = getTransport().getHttpClient() == null ? null : () -> getTransport().getHttpClient();
+                    completionEngine = new CompletionEngine(apiKey, Utils.getBaseUrlForOpenAI(baseUrl), config.getCompletion(), rateLimiter,
+                            metrics, httpClients);
+                }
+                engine = completionEngine;
+            }
+        }
+        return engine;
     }
 
     /**
@@ -49,12 +138,10 @@ public class RestClient {
      *
      * @param endPoint    The URL endpoint to which the request is sent.
      * @param body       The body of the POST request.
-     * @return           An HttpResponse containing the response from the server.
+     * @return           A response containing the response from the server.
      */
-    public HttpResponse<String> sendPostRequest(String endPoint, String body) throws Exception {
-        HttpResponse<String> httpResponse = Unirest.post(endPoint).body(body).asString();
-        checkForFailedResponse(httpResponse);
-        return httpResponse;
+    public TransportResponse<String> sendPostRequest(String endPoint, String body) throws Exception {
+        return execute("POST", endPoint, body, headers -> getTransport().send(request("POST", endPoint, headers, body)));
     }
 
     /**
@@ -62,92 +149,648 @@ public class RestClient {
      *
      * @param endPoint    The URL endpoint to which the request is sent.
      * @param body       The body of the PATCH request.
-     * @return           An HttpResponse containing the response from the server.
+     * @return           A response containing the response from the server.
      */
-    public HttpResponse<String> sendPatchRequest(String endPoint, String body) throws Exception {
-        HttpResponse<String> httpResponse = Unirest.patch(endPoint).body(body).asString();
-        checkForFailedResponse(httpResponse);
-        return httpResponse;
+    public TransportResponse<String> sendPatchRequest(String endPoint, String body) throws Exception {
+        return execute("PATCH", endPoint, body, headers -> getTransport().send(request("PATCH", endPoint, headers, body)));
     }
 
     /**
-     * Sends an HTTP GET request to the specified endpoint.
+     * Sends an HTTP GET request to the specified endpoint. Concurrent calls for the same endpoint
+     * share one request and receive the same response or exception.
      *
      * @param endPoint    The URL endpoint to which the request is sent.
-     * @return           An HttpResponse containing the response from the server.
+     * @return           A response containing the response from the server.
      */
-    public HttpResponse<String> sendGetRequest(String endPoint) throws Exception {
-        HttpResponse<String> httpResponse =  Unirest.get(endPoint).asString();
-        checkForFailedResponse(httpResponse);
-        return httpResponse;
+    public TransportResponse<String> sendGetRequest(String endPoint) throws Exception {
+        return sendGetRequest(endPoint, Map.of());
+    }
+
+    /**
+     * Sends a GET request that is conditional on the resource having changed since it was last
+     * read, using the {@code ETag} and {@code Last-Modified} validators kept in the
+     * {@link MetadataCache}. On {@code 304 Not Modified} the object parsed from the earlier
+     * response is returned without parsing anything.
+     *
+     * @param endPoint    The URL endpoint to which the request is sent.
+     * @param parser      Parses the body of a full response.
+     * @param <T>         The type of the parsed object.
+     * @return           The parsed object, freshly parsed or kept from the earlier response.
+     * @throws Exception if the request fails or the response indicates an error
+     */
+    public <T> T sendConditionalGetRequest(String endPoint, Function<String, T> parser) throws Exception {
+        Optional<Revalidation<T>> previous = metadataCache.getRevalidation(endPoint);
+        TransportResponse<String> httpResponse = sendGetRequest(endPoint, previous.map(Revalidation::conditionalHeaders).orElse(Map.of()));
+        return revalidated(endPoint, httpResponse, previous, parser);
+    }
+
+    private TransportResponse<String> sendGetRequest(String endPoint, Map<String, String> extraHeaders) throws Exception {
+        TransportCall request = headers -> getTransport().send(getRequest(endPoint, extraHeaders, headers));
+        if (!config.isCoalesceReads()) return execute("GET", endPoint, null, request);
+        return readFlights.call(flightKey(endPoint, extraHeaders), () -> execute("GET", endPoint, null, request), () -> coalesced(endPoint));
+    }
+
+    /**
+     * Sends an HTTP GET request and returns the response body as a stream instead of a string, so
+     * large responses can be decoded incrementally. The connection and route permits are held until
+     * the returned stream is closed, so callers must close it.
+     *
+     * @param endPoint    The URL endpoint to which the request is sent.
+     * @return           The unread body of the successful response.
+     * @throws Exception if the request fails or the response indicates an error
+     */
+    public InputStream sendGetRequestForStream(String endPoint) throws Exception {
+        String route = Utils.getRouteTemplate(endPoint);
+        CircuitBreaker breaker = circuitBreaker(route);
+        retryBudget.onRequest();
+        for (int attempt = 1; ; attempt++) {
+            breaker.acquirePermission();
+            Attempt<InputStream> outcome;
+            try {
+                outcome = openStream(endPoint, route);
+            } catch (Exception e) {
+                breaker.onIgnored();
+                throw e;
+            }
+            record(breaker, outcome);
+            Duration backoff = nextRetry("GET", route, attempt, outcome);
+            if (backoff == null) return outcome.complete();
+            Thread.sleep(backoff.toMillis());
+        }
     }
 
     /**
      * Sends an HTTP DELETE request to the specified endpoint.
      *
      * @param endPoint    The URL endpoint to which the request is sent.
-     * @return           An HttpResponse containing the response from the server.
+     * @return           A response containing the response from the server.
+     */
+    public TransportResponse<String> sendDeleteRequest(String endPoint) throws Exception {
+        return execute("DELETE", endPoint, null, headers -> getTransport().send(request("DELETE", endPoint, headers, null)));
+    }
+
+    /**
+     * Sends an HTTP POST request to the specified endpoint without blocking the calling thread.
+     *
+     * @param endPoint    The URL endpoint to which the request is sent.
+     * @param body       The body of the POST request.
+     * @return           A future completed with the response, or exceptionally with the same exceptions
+     *                   {@link #sendPostRequest(String, String)} throws.
+     */
+    public CompletableFuture<TransportResponse<String>> sendPostRequestAsync(String endPoint, String body) {
+        return executeAsync("POST", endPoint, body, headers -> getTransport().sendAsync(request("POST", endPoint, headers, body)));
+    }
+
+    /**
+     * Sends an HTTP PATCH request to the specified endpoint without blocking the calling thread.
+     *
+     * @param endPoint    The URL endpoint to which the request is sent.
+     * @param body       The body of the PATCH request.
+     * @return           A future completed with the response, or exceptionally with the same exceptions
+     *                   {@link #sendPatchRequest(String, String)} throws.
+     */
+    public CompletableFuture<TransportResponse<String>> sendPatchRequestAsync(String endPoint, String body) {
+        return executeAsync("PATCH", endPoint, body, headers -> getTransport().sendAsync(request("PATCH", endPoint, headers, body)));
+    }
+
+    /**
+     * Sends an HTTP GET request to the specified endpoint without blocking the calling thread.
+     * Concurrent calls for the same endpoint, blocking or not, share one request.
+     *
+     * @param endPoint    The URL endpoint to which the request is sent.
+     * @return           A future completed with the response, or exceptionally with the same exceptions
+     *                   {@link #sendGetRequest(String)} throws.
+     */
+    public CompletableFuture<TransportResponse<String>> sendGetRequestAsync(String endPoint) {
+        return sendGetRequestAsync(endPoint, Map.of());
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #sendConditionalGetRequest(String, Function)}.
+     *
+     * @param endPoint    The URL endpoint to which the request is sent.
+     * @param parser      Parses the body of a full response.
+     * @param <T>         The type of the parsed object.
+     * @return           A future completed with the parsed object, or exceptionally with the same
+     *                   exceptions {@link #sendGetRequest(String)} throws.
+     */
+    public <T> CompletableFuture<T> sendConditionalGetRequestAsync(String endPoint, Function<String, T> parser) {
+        Optional<Revalidation<T>> previous = metadataCache.getRevalidation(endPoint);
+        return sendGetRequestAsync(endPoint, previous.map(Revalidation::conditionalHeaders).orElse(Map.of()))
+                .thenApply(httpResponse -> revalidated(endPoint, httpResponse, previous, parser));
+    }
+
+    private CompletableFuture<TransportResponse<String>> sendGetRequestAsync(String endPoint, Map<String, String> extraHeaders) {
+        Function<Map<String, String>, CompletableFuture<TransportResponse<String>>> request =
+                headers -> getTransport().sendAsync(getRequest(endPoint, extraHeaders, headers));
+        if (!config.isCoalesceReads()) return executeAsync("GET", endPoint, null, request);
+        return readFlights.callAsync(flightKey(endPoint, extraHeaders), () -> executeAsync("GET", endPoint, null, request), () -> coalesced(endPoint));
+    }
+
+    /**
+     * Returns the object kept from the earlier response on {@code 304 Not Modified}, and otherwise
+     * parses the body and keeps its validators for the next conditional request.
+     */
+    private <T> T revalidated(String endPoint, TransportResponse<String> httpResponse, Optional<Revalidation<T>> previous, Function<String, T> parser) {
+        if (httpResponse.getStatus() == 304 && previous.isPresent()) {
+            log.debug("{} not modified, reusing parsed response", endPoint);
+            return previous.get().getValue();
+        }
+        T value = parser.apply(httpResponse.getBody());
+        metadataCache.putRevalidation(endPoint, header(httpResponse, Constants.ETAG_HEADER),
+                header(httpResponse, Constants.LAST_MODIFIED_HEADER), value);
+        return value;
+    }
+
+    private static String header(TransportResponse<?> httpResponse, String name) {
+        String value = httpResponse.getHeader(name);
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static TransportRequest request(String method, String endPoint, Map<String, String> headers, String body) {
+        return TransportRequest.builder().method(method).path(endPoint).headers(headers).body(body).build();
+    }
+
+    private static TransportRequest getRequest(String endPoint, Map<String, String> extraHeaders, Map<String, String> headers) {
+        Map<String, String> allHeaders = new LinkedHashMap<>(extraHeaders);
+        allHeaders.putAll(headers);
+        return TransportRequest.builder().method("GET").path(endPoint).headers(allHeaders).build();
+    }
+
+    /**
+     * Sends an HTTP DELETE request to the specified endpoint without blocking the calling thread.
+     *
+     * @param endPoint    The URL endpoint to which the request is sent.
+     * @return           A future completed with the response, or exceptionally with the same exceptions
+     *                   {@link #sendDeleteRequest(String)} throws.
+     */
+    public CompletableFuture<TransportResponse<String>> sendDeleteRequestAsync(String endPoint) {
+        return executeAsync("DELETE", endPoint, null, headers -> getTransport().sendAsync(request("DELETE", endPoint, headers, null)));
+    }
+
+    /**
+     * Runs a request through the circuit breaker of its route, retrying it according to the
+     * {@link RetryPolicy} while it fails with a transient error.
+     *
+     * @param method   the HTTP method
+     * @param endPoint the endpoint the request targets, used to resolve its route
+     * @param body     the request body, or {@code null}
+     * @param request  the call performing the request with the headers added by the interceptors
+     * @return the checked HTTP response
+     * @throws Exception if the request fails or the response indicates an error
+     */
+    private TransportResponse<String> execute(String method, String endPoint, String body, TransportCall request) throws Exception {
+        String route = Utils.getRouteTemplate(endPoint);
+        CircuitBreaker breaker = circuitBreaker(route);
+        retryBudget.onRequest();
+        boolean write = !"GET".equals(method);
+        if (write) writeGeneration.incrementAndGet();
+        try {
+            return executeAttempts(method, endPoint, route, body, request, breaker);
+        } finally {
+            if (write) writeGeneration.incrementAndGet();
+        }
+    }
+
+    private TransportResponse<String> executeAttempts(String method, String endPoint, String route, String body,
+                                                 TransportCall request, CircuitBreaker breaker) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            breaker.acquirePermission();
+            Attempt<TransportResponse<String>> outcome;
+            try {
+                outcome = send(method, endPoint, route, body, request);
+            } catch (Exception e) {
+                breaker.onIgnored();
+                throw e;
+            }
+            record(breaker, outcome);
+            Duration backoff = nextRetry(method, route, attempt, outcome);
+            if (backoff == null) return outcome.complete();
+            Thread.sleep(backoff.toMillis());
+        }
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #execute(String, String, String, TransportCall)}. Backoff
+     * delays are scheduled rather than slept. Failed responses complete the future with a
+     * {@link CompletionException} wrapping the exception {@code checkForFailedResponse} raises.
+     *
+     * @param method   the HTTP method
+     * @param endPoint the endpoint the request targets, used to resolve its route
+     * @param body     the request body, or {@code null}
+     * @param request  the call starting the asynchronous request with the headers added by the interceptors
+     * @return a future completed with the checked HTTP response
      */
-    public HttpResponse<String> sendDeleteRequest(String endPoint) throws Exception {
-        HttpResponse<String> httpResponse = Unirest.delete(endPoint).asString();
-        checkForFailedResponse(httpResponse);
-        return httpResponse;
+    private CompletableFuture<TransportResponse<String>> executeAsync(String method, String endPoint, String body,
+                                                                 Function<Map<String, String>, CompletableFuture<TransportResponse<String>>> request) {
+        String route = Utils.getRouteTemplate(endPoint);
+        retryBudget.onRequest();
+        if ("GET".equals(method)) return executeAsync(method, endPoint, route, body, request, circuitBreaker(route), 1);
+        writeGeneration.incrementAndGet();
+        return executeAsync(method, endPoint, route, body, request, circuitBreaker(route), 1)
+                .whenComplete((httpResponse, throwable) -> writeGeneration.incrementAndGet());
+    }
+
+    private CompletableFuture<TransportResponse<String>> executeAsync(String method, String endPoint, String route, String body,
+                                                                 Function<Map<String, String>, CompletableFuture<TransportResponse<String>>> request,
+                                                                 CircuitBreaker breaker, int attempt) {
+        try {
+            breaker.acquirePermission();
+        } catch (CircuitBreakerOpenException e) {
+            return CompletableFuture.failedFuture(new CompletionException(e));
+        }
+        return sendAsync(method, endPoint, route, body, request)
+                .whenComplete((outcome, throwable) -> {
+                    if (throwable != null) breaker.onIgnored();
+                })
+                .thenCompose(outcome -> {
+                    record(breaker, outcome);
+                    Duration backoff = nextRetry(method, route, attempt, outcome);
+                    if (backoff == null) return outcome.completeAsync();
+                    Executor delayed = CompletableFuture.delayedExecutor(backoff.toMillis(), TimeUnit.MILLISECONDS);
+                    return CompletableFuture.runAsync(() -> { }, delayed)
+                            .thenCompose(ignored -> executeAsync(method, endPoint, route, body, request, breaker, attempt + 1));
+                });
+    }
+
+    /**
+     * Makes one attempt of a request while holding a permit for its route and a permit from the
+     * client-wide pool, so neither the pool nor any single route is oversubscribed, passing it
+     * through the interceptors and reporting it to the metrics.
+     *
+     * @return the response or the failure of the call
+     * @throws InterruptedException if interrupted while waiting for a permit
+     */
+    private Attempt<TransportResponse<String>> send(String method, String endPoint, String route, String body, TransportCall request) throws InterruptedException {
+        rateLimiter.getControlPlane().acquire();
+        AsyncSemaphore routePermit = routePermit(route);
+        routePermit.acquire();
+        try {
+            connectionPermits.acquire();
+            try {
+                RequestContext context = new RequestContext(method, endPoint, route, body);
+                RequestTimer timer = null;
+                TransportResponse<String> httpResponse;
+                try {
+                    interceptors.beforeSend(context);
+                    timer = RequestTimer.start(metrics, method, route);
+                    httpResponse = request.call(context.getHeaders());
+                } catch (Exception e) {
+                    if (timer != null) timer.failed(e);
+                    interceptors.onError(context, e);
+                    return new Attempt<>(context, e);
+                }
+                timer.completed(httpResponse.getStatus(), Utils.utf8Length(body), Utils.utf8Length(httpResponse.getBody()));
+                rateLimiter.getControlPlane().adapt(httpResponse.getStatus(), httpResponse::getHeader);
+                interceptors.afterReceive(context, httpResponse.getStatus(), httpResponse.getBody());
+                return new Attempt<>(context, httpResponse, httpResponse.getStatus(), httpResponse.getBody(), retryAfter(httpResponse));
+            } finally {
+                connectionPermits.release();
+            }
+        } finally {
+            routePermit.release();
+        }
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #send(String, String, String, String, TransportCall)}. Permits
+     * are awaited without blocking a thread and are returned once the response arrives, each by the
+     * stage that acquired it, so a failure before a permit was granted never returns one.
+     *
+     * @return a future completed with the response or the failure of the call
+     */
+    private CompletableFuture<Attempt<TransportResponse<String>>> sendAsync(String method, String endPoint, String route, String body,
+                                                                       Function<Map<String, String>, CompletableFuture<TransportResponse<String>>> request) {
+        AsyncSemaphore routePermit = routePermit(route);
+        return rateLimiter.getControlPlane().acquireAsync()
+                .thenCompose(ready -> routePermit.acquireAsync())
+                .thenCompose(routeAcquired -> connectionPermits.acquireAsync().thenCompose(acquired -> {
+                    RequestContext context = new RequestContext(method, endPoint, route, body);
+                    RequestTimer timer = null;
+                    CompletableFuture<TransportResponse<String>> response;
+                    try {
+                        interceptors.beforeSend(context);
+                        timer = RequestTimer.start(metrics, method, route);
+                        response = request.apply(context.getHeaders());
+                    } catch (RuntimeException e) {
+                        response = CompletableFuture.failedFuture(e);
+                    }
+                    RequestTimer requestTimer = timer;
+                    return response.handle((httpResponse, throwable) -> {
+                        connectionPermits.release();
+                        if (throwable != null) {
+                            Throwable error = Utils.unwrap(throwable);
+                            if (requestTimer != null) requestTimer.failed(error);
+                            interceptors.onError(context, error);
+                            return new Attempt<TransportResponse<String>>(context, error);
+                        }
+                        requestTimer.completed(httpResponse.getStatus(), Utils.utf8Length(body), Utils.utf8Length(httpResponse.getBody()));
+                        rateLimiter.getControlPlane().adapt(httpResponse.getStatus(), httpResponse::getHeader);
+                        interceptors.afterReceive(context, httpResponse.getStatus(), httpResponse.getBody());
+                        return new Attempt<>(context, httpResponse, httpResponse.getStatus(), httpResponse.getBody(), retryAfter(httpResponse));
+                    });
+                }).whenComplete((outcome, throwable) -> routePermit.release()));
+    }
+
+    /**
+     * Makes one attempt of a streamed GET request. The permits are handed over to the returned
+     * stream when the response is successful and returned straight away otherwise.
+     *
+     * @return the unread body of a successful response, the error response, or the failure of the call
+     * @throws InterruptedException if interrupted while waiting for a permit
+     */
+    private Attempt<InputStream> openStream(String endPoint, String route) throws InterruptedException {
+        rateLimiter.getControlPlane().acquire();
+        AsyncSemaphore routePermit = routePermit(route);
+        routePermit.acquire();
+        boolean streaming = false;
+        try {
+            connectionPermits.acquire();
+            try {
+                RequestContext context = new RequestContext("GET", endPoint, route, null);
+                RequestTimer timer = null;
+                TransportResponse<InputStream> httpResponse;
+                try {
+                    interceptors.beforeSend(context);
+                    timer = RequestTimer.start(metrics, "GET", route);
+                    httpResponse = getTransport().sendForStream(request("GET", endPoint, context.getHeaders(), null));
+                } catch (Exception e) {
+                    if (timer != null) timer.failed(e);
+                    interceptors.onError(context, e);
+                    return new Attempt<>(context, e);
+                }
+                int status = httpResponse.getStatus();
+                rateLimiter.getControlPlane().adapt(status, httpResponse::getHeader);
+                if (status >= 400) {
+                    String errorBody;
+                    try (InputStream body = httpResponse.getBody()) {
+                        errorBody = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        timer.failed(e);
+                        interceptors.onError(context, e);
+                        return new Attempt<>(context, e);
+                    }
+                    timer.completed(status, 0, Utils.utf8Length(errorBody));
+                    interceptors.afterReceive(context, status, errorBody);
+                    return new Attempt<>(context, null, status, errorBody, retryAfter(httpResponse));
+                }
+                interceptors.afterReceive(context, status, null);
+                InputStream body = new PermitReleasingInputStream(httpResponse.getBody(), routePermit, timer, status);
+                streaming = true;
+                return new Attempt<>(context, body, status, null, null);
+            } finally {
+                if (!streaming) connectionPermits.release();
+            }
+        } finally {
+            if (!streaming) routePermit.release();
+        }
+    }
+
+    /**
+     * Reports the outcome of an attempt to the circuit breaker of its route. Server errors and
+     * connection failures count against the route; other failures, such as interceptor errors, do not.
+     */
+    private void record(CircuitBreaker breaker, Attempt<?> outcome) {
+        if (outcome.error != null) {
+            if (RetryPolicy.isConnectionError(outcome.error)) breaker.onFailure();
+            else breaker.onIgnored();
+        } else if (outcome.status >= 500) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    /**
+     * Decides whether a failed attempt is retried, drawing on the retry budget if so.
+     *
+     * @return the delay before the next attempt, or {@code null} if the outcome is final
+     */
+    private Duration nextRetry(String method, String route, int attempt, Attempt<?> outcome) {
+        if (attempt >= retryPolicy.getMaxAttempts()) return null;
+        boolean retryable = outcome.error != null
+                ? retryPolicy.isRetryable(method, outcome.error)
+                : retryPolicy.isRetryable(method, outcome.status);
+        if (!retryable || !retryBudget.tryAcquire()) return null;
+        Duration backoff = retryPolicy.backoff(attempt, outcome.retryAfter);
+        log.debug("Retrying {} {} in {} ms after attempt {}", method, route, backoff.toMillis(), attempt);
+        metrics.requestRetried(method, route);
+        return backoff;
+    }
+
+    private static Duration retryAfter(TransportResponse<?> httpResponse) {
+        return Utils.parseSeconds(httpResponse.getHeader(Constants.RETRY_AFTER_HEADER));
+    }
+
+    /**
+     * Returns the key under which GETs of the endpoint are coalesced. It changes whenever a write
+     * starts or finishes, so a read never joins a request that may have been answered before the
+     * write took effect.
+     */
+    private String flightKey(String endPoint, Map<String, String> extraHeaders) {
+        return writeGeneration.get() + " " + endPoint + (extraHeaders.isEmpty() ? "" : " " + extraHeaders);
+    }
+
+    private void coalesced(String endPoint) {
+        log.debug("Joining in-flight GET {}", endPoint);
+        metrics.requestCoalesced("GET", Utils.getRouteTemplate(endPoint));
+    }
+
+    private AsyncSemaphore routePermit(String route) {
+        return routePermits.computeIfAbsent(route, key -> new AsyncSemaphore(poolConfig.getMaxRequestsPerRoute()));
+    }
+
+    private CircuitBreaker circuitBreaker(String route) {
+        return circuitBreakers.computeIfAbsent(route, key -> new CircuitBreaker(key, config.getCircuitBreaker()));
+    }
+
+    /**
+     * Returns the transport owned by this client, creating it on first use so that constructing a
+     * client configures no HTTP client.
+     *
+     * @return the transport owned by this client
+     */
+    public Transport getTransport() {
+        Transport created = transport;
+        if (created == null) {
+            synchronized (this) {
+                if (transport == null) transport = createTransport(apiKey, baseUrl);
+                created = transport;
+            }
+        }
+        return created;
     }
 
     /**
      * Checks the HTTP response for errors and throws appropriate exceptions
      * based on the status code.
      *
-     * @param httpResponse the HTTP response to check
+     * @param status the status of the HTTP response
+     * @param body   the body of the HTTP response
      * @throws ObjectNotFoundException if the response status is 404 (Not Found)
      * @throws ForbiddenException if the response status is 403 (Forbidden)
      * @throws UnauthorizedException if the response status is 401 (Unauthorized)
      * @throws UnknownError if the response status indicates an error (status code 400-599)
      * @throws Exception if an unexpected error occurs while processing the response
      */
-    private void checkForFailedResponse(HttpResponse<String> httpResponse) throws Exception{
-        switch (httpResponse.getStatus()){
+    private void checkForFailedResponse(int status, String body) throws Exception{
+        switch (status){
             case 404: {
-                log.error(Constants.FAILED_REQUEST_ERROR_LOG, httpResponse.getStatus(), httpResponse.getBody());
-                throw new ObjectNotFoundException(httpResponse.getBody());
+                log.error(Constants.FAILED_REQUEST_ERROR_LOG, status, body);
+                throw new ObjectNotFoundException(body);
             }
             case 403: {
-                log.error(Constants.FAILED_REQUEST_ERROR_LOG, httpResponse.getStatus(), httpResponse.getBody());
-                throw new ForbiddenException(httpResponse.getBody());
+                log.error(Constants.FAILED_REQUEST_ERROR_LOG, status, body);
+                throw new ForbiddenException(body);
             }
             case 401: {
-                log.error(Constants.FAILED_REQUEST_ERROR_LOG, httpResponse.getStatus(), httpResponse.getBody());
-                throw new UnauthorizedException(httpResponse.getBody());
+                log.error(Constants.FAILED_REQUEST_ERROR_LOG, status, body);
+                throw new UnauthorizedException(body);
             }
         }
 
-        if(httpResponse.getStatus() >= 400 && httpResponse.getStatus() < 600){
-            log.error(Constants.FAILED_REQUEST_ERROR_LOG, httpResponse.getStatus(), httpResponse.getBody());
-            throw new UnknownError(httpResponse.getBody());
+        if(status >= 400 && status < 600){
+            log.error(Constants.FAILED_REQUEST_ERROR_LOG, status, body);
+            throw new UnknownError(body);
         }
     }
 
     /**
-     * Configures the Unirest HTTP client with the provided API key and base URL.
-     * This method sets up cookie management, default headers, and response caching.
+     * Creates this client's transport for the provided API key and base URL, with the
+     * authorization and content type headers and the connection timeouts of the pool.
      *
      * @param apiKey the API key used for authorization
      * @param baseUrl the base URL for API requests; it is stripped of leading/trailing spaces
      *                and appended with the Minds API endpoint if not already present
+     * @return the transport owned by this client
      */
-    private synchronized void configureUnirest(String apiKey, String baseUrl){
+    private Transport createTransport(String apiKey, String baseUrl){
         baseUrl = baseUrl.strip();
         if(!baseUrl.endsWith(Constants.MINDS_API_ENDPOINT)) baseUrl+=Constants.MINDS_API_ENDPOINT;
-        Unirest.config()
-                .enableCookieManagement(true)
-                .defaultBaseUrl(baseUrl)
-                .addDefaultHeader(Constants.AUTHORIZATION_HEADER,"Bearer " + apiKey)
-                .addDefaultHeader(Constants.CONTEXT_TYPE_HEADER, Constants.APPLICATION_JSON)
-                .cacheResponses(new Cache.Builder().maxAge(1, TimeUnit.MINUTES))
-                .retryAfter(true, 2);
+        Map<String, String> defaultHeaders = new LinkedHashMap<>();
+        defaultHeaders.put(Constants.AUTHORIZATION_HEADER, "Bearer " + apiKey);
+        defaultHeaders.put(Constants.CONTEXT_TYPE_HEADER, Constants.APPLICATION_JSON);
+        return config.getTransport().create(baseUrl, defaultHeaders, poolConfig);
     }
 
+    /**
+     * Shuts down this client's transport and releases its pooled connections.
+     * Other {@code RestClient} instances are not affected.
+     */
     public void shutDown() {
-        Unirest.shutDown();
+        Transport created = transport;
+        if (created != null) created.close();
+        CompletionEngine engine = completionEngine;
+        if (engine != null) engine.close();
+        completionCache.close();
+    }
+
+    /**
+     * Response body that returns the permits of its request once it is closed. The request is
+     * reported to the metrics on close, with the number of bytes read.
+     */
+    private class PermitReleasingInputStream extends FilterInputStream {
+
+        private final AsyncSemaphore routePermit;
+        private final RequestTimer timer;
+        private final int status;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private long bytesRead;
+
+        private PermitReleasingInputStream(InputStream body, AsyncSemaphore routePermit, RequestTimer timer, int status) {
+            super(body);
+            this.routePermit = routePermit;
+            this.timer = timer;
+            this.status = status;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) bytesRead++;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) bytesRead += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    timer.completed(status, 0, bytesRead);
+                    connectionPermits.release();
+                    routePermit.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Outcome of one attempt of a request: either a response, whose status is only checked once no
+     * retry follows, or the failure of the call, which the interceptors have already seen.
+     *
+     * @param <T> the type of the response
+     */
+    private final class Attempt<T> {
+
+        private final RequestContext context;
+        private final T response;
+        private final int status;
+        private final String body;
+        private final Duration retryAfter;
+        private final Throwable error;
+
+        private Attempt(RequestContext context, T response, int status, String body, Duration retryAfter) {
+            this.context = context;
+            this.response = response;
+            this.status = status;
+            this.body = body;
+            this.retryAfter = retryAfter;
+            this.error = null;
+        }
+
+        private Attempt(RequestContext context, Throwable error) {
+            this.context = context;
+            this.response = null;
+            this.status = -1;
+            this.body = null;
+            this.retryAfter = null;
+            this.error = error;
+        }
+
+        /**
+         * Returns the response once its status has been checked, or rethrows the failure.
+         */
+        T complete() throws Exception {
+            if (error instanceof Exception) throw (Exception) error;
+            if (error != null) throw (Error) error;
+            try {
+                checkForFailedResponse(status, body);
+            } catch (Exception e) {
+                interceptors.onError(context, e);
+                throw e;
+            }
+            return response;
+        }
+
+        CompletableFuture<T> completeAsync() {
+            try {
+                return CompletableFuture.completedFuture(complete());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(new CompletionException(e));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TransportCall {
+        TransportResponse<String> call(Map<String, String> headers) throws Exception;
     }
 }
@@ -0,0 +1,30 @@
+package com.mindsdb.client;
+
+/**
+ * Token bucket limiting retries to a share of requests. Every request deposits a fraction of a
+ * token and every retry withdraws a whole one; the balance never exceeds the reserve, so a burst
+ * of failures after a quiet period can spend at most the reserve before retries are throttled to
+ * the ratio.
+ */
+class RetryBudget {
+
+    private final double ratio;
+    private final double reserve;
+    private double balance;
+
+    RetryBudget(RetryPolicy policy) {
+        this.ratio = policy.getBudgetRatio();
+        this.reserve = Math.max(1, policy.getBudgetReserve());
+        this.balance = reserve;
+    }
+
+    synchronized void onRequest() {
+        balance = Math.min(reserve, balance + ratio);
+    }
+
+    synchronized boolean tryAcquire() {
+        if (balance < 1) return false;
+        balance--;
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+package com.mindsdb.client;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry settings for requests that fail with a transient error.
+ * <p>
+ * GET and DELETE requests, and PATCH requests unless {@link #retryPatch} is turned off, are retried
+ * after a connection error or one of the {@link #retryableStatuses}. POST requests are only retried
+ * after a 429, since the server rejected them without processing. Delays grow exponentially from
+ * {@link #initialBackoff} and are randomised by {@link #jitter}, so clients failing at the same
+ * moment do not retry in lockstep; a {@code Retry-After} header lengthens the delay up to
+ * {@link #maxBackoff}. The {@link #budgetRatio} caps retries at a share of all requests, so a
+ * brownout is not amplified by retry storms.
+ * </p>
+ */
+@Getter
+@Builder
+public class RetryPolicy {
+
+    /** Maximum number of attempts per request, including the first; {@code 1} disables retries. */
+    @Builder.Default private int maxAttempts = 3;
+
+    /** Delay before the first retry. */
+    @Builder.Default private Duration initialBackoff = Duration.ofMillis(200);
+
+    /** Upper bound of the delay before any retry. */
+    @Builder.Default private Duration maxBackoff = Duration.ofSeconds(10);
+
+    /** Factor by which the delay grows with every further retry. */
+    @Builder.Default private double multiplier = 2.0;
+
+    /** Share of each delay that is randomised, from {@code 0} for none to {@code 1} for full jitter. */
+    @Builder.Default private double jitter = 1.0;
+
+    /** Response statuses worth retrying. */
+    @Builder.Default private Set<Integer> retryableStatuses = Set.of(429, 500, 502, 503, 504);
+
+    /**
+     * Whether PATCH requests are retried. The SDK's PATCH bodies set fields to absolute values, so
+     * repeating them is safe.
+     */
+    @Builder.Default private boolean retryPatch = true;
+
+    /** Maximum number of retries as a share of requests, e.g. {@code 0.2} for one retry per five requests. */
+    @Builder.Default private double budgetRatio = 0.2;
+
+    /** Retries that are always available on top of the ratio, so clients with little traffic can still retry. */
+    @Builder.Default private int budgetReserve = 10;
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default retry policy
+     */
+    public static RetryPolicy defaults() {
+        return RetryPolicy.builder().build();
+    }
+
+    /**
+     * Returns a policy that never retries.
+     *
+     * @return a policy with a single attempt per request
+     */
+    public static RetryPolicy disabled() {
+        return RetryPolicy.builder().maxAttempts(1).build();
+    }
+
+    boolean isRetryable(String method, int status) {
+        if (!retryableStatuses.contains(status)) return false;
+        return status == 429 || isIdempotent(method);
+    }
+
+    boolean isRetryable(String method, Throwable error) {
+        return isIdempotent(method) && isConnectionError(error);
+    }
+
+    /**
+     * Returns the delay before the given retry.
+     *
+     * @param retry      the number of the retry, starting at 1
+     * @param retryAfter the delay requested by the server, or {@code null}
+     * @return the delay
+     */
+    Duration backoff(int retry, Duration retryAfter) {
+        double exponential = initialBackoff.toMillis() * Math.pow(multiplier, retry - 1);
+        long delay = (long) Math.min(exponential, maxBackoff.toMillis());
+        long randomised = (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+        long millis = delay - randomised;
+        if (retryAfter != null) millis = Math.max(millis, Math.min(retryAfter.toMillis(), maxBackoff.toMillis()));
+        return Duration.ofMillis(millis);
+    }
+
+    private boolean isIdempotent(String method) {
+        return "GET".equals(method) || "DELETE".equals(method) || (retryPatch && "PATCH".equals(method));
+    }
+
+    static boolean isConnectionError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package com.mindsdb.client;
+
+import com.mindsdb.utils.Utils;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key into one: the first caller runs the call, and every
+ * caller arriving while it is in flight receives the same result or error instead of running it
+ * again. A call that has completed is forgotten, so later callers run it afresh.
+ *
+ * @param <K> the type of the key identifying identical calls
+ * @param <V> the type of the result
+ */
+class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs a blocking call unless an identical one is in flight, in which case its result is awaited.
+     *
+     * @param key      the key identifying identical calls
+     * @param call     the call to run if none is in flight
+     * @param onShared invoked when the caller joins a call already in flight
+     * @return the result of the call
+     * @throws Exception the failure of the call
+     */
+    V call(K key, Callable<V> call, Runnable onShared) throws Exception {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            onShared.run();
+            return await(existing);
+        }
+        try {
+            V value = call.call();
+            land(key, flight, value, null);
+            return value;
+        } catch (Exception | Error e) {
+            land(key, flight, null, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts an asynchronous call unless an identical one is in flight, in which case its future is shared.
+     *
+     * @param key      the key identifying identical calls
+     * @param call     starts the call if none is in flight
+     * @param onShared invoked when the caller joins a call already in flight
+     * @return a future of the result; cancelling it does not affect the other callers
+     */
+    CompletableFuture<V> callAsync(K key, Supplier<CompletableFuture<V>> call, Runnable onShared) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            onShared.run();
+            return existing.copy();
+        }
+        CompletableFuture<V> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, throwable) -> land(key, flight, value, throwable));
+        return flight.copy();
+    }
+
+    /**
+     * Removes the call from the in-flight calls before completing it, so that callers arriving
+     * after the result is known do not receive it.
+     */
+    private void land(K key, CompletableFuture<V> flight, V value, Throwable error) {
+        inFlight.remove(key, flight);
+        if (error != null) flight.completeExceptionally(Utils.unwrap(error));
+        else flight.complete(value);
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) throws Exception {
+        try {
+            return flight.get();
+        } catch (ExecutionException e) {
+            Throwable cause = Utils.unwrap(e);
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw (Error) cause;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.mindsdb.client;
+
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency figures of one streamed completion as experienced by the consumer: the time until the
+ * first token arrived and the rate at which tokens were delivered afterwards.
+ * <p>
+ * Tokens are counted as content-bearing chunks unless the server reports usage, in which case the
+ * reported number of completion tokens is used. The clock starts when the request is sent, so
+ * time spent before the consumer first requests an item is not counted.
+ * </p>
+ * <p>
+ * The figures are updated by the thread reading the stream and may be read from any thread.
+ * </p>
+ */
+@ToString
+public class StreamMetrics {
+
+    private volatile long startedAt;
+    private volatile long firstTokenAt;
+    private volatile long completedAt;
+    private final AtomicLong chunkCount = new AtomicLong();
+    private volatile long reportedTokens = -1;
+
+    void onStart() {
+        if (startedAt == 0) startedAt = System.nanoTime();
+    }
+
+    void onToken() {
+        if (firstTokenAt == 0) firstTokenAt = System.nanoTime();
+        chunkCount.incrementAndGet();
+    }
+
+    void onUsage(long completionTokens) {
+        reportedTokens = completionTokens;
+    }
+
+    void onComplete() {
+        if (completedAt == 0) completedAt = System.nanoTime();
+    }
+
+    /**
+     * Returns the time from the request until the first token was received.
+     *
+     * @return the time to first token, or {@code null} if no token has arrived yet
+     */
+    public Duration getTimeToFirstToken() {
+        return firstTokenAt == 0 || startedAt == 0 ? null : Duration.ofNanos(firstTokenAt - startedAt);
+    }
+
+    /**
+     * Returns the time from the request until the stream ended, or until now while it is running.
+     *
+     * @return the duration of the stream, or {@link Duration#ZERO} before the request is sent
+     */
+    public Duration getDuration() {
+        if (startedAt == 0) return Duration.ZERO;
+        long end = completedAt == 0 ? System.nanoTime() : completedAt;
+        return Duration.ofNanos(end - startedAt);
+    }
+
+    /**
+     * Returns the number of tokens received: the completion tokens reported by the server once its
+     * usage chunk has arrived, otherwise the number of content-bearing chunks.
+     *
+     * @return the token count
+     */
+    public long getTokenCount() {
+        long reported = reportedTokens;
+        return reported >= 0 ? reported : chunkCount.get();
+    }
+
+    /**
+     * Returns the time from the first token until the stream ended, or until now while it is running.
+     */
+    long generationNanos() {
+        if (firstTokenAt == 0) return 0;
+        long end = completedAt == 0 ? System.nanoTime() : completedAt;
+        return end - firstTokenAt;
+    }
+
+    /**
+     * Returns the generation rate measured from the first token to the end of the stream.
+     *
+     * @return tokens per second, or 0 before at least two tokens have arrived
+     */
+    public double getTokensPerSecond() {
+        long tokens = getTokenCount();
+        if (firstTokenAt == 0 || tokens < 2) return 0;
+        long elapsed = generationNanos();
+        return elapsed <= 0 ? 0 : (tokens - 1) * 1_000_000_000d / elapsed;
+    }
+}
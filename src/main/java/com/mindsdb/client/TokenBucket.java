@@ -0,0 +1,169 @@
+package com.mindsdb.client;
+
+import com.mindsdb.utils.Constants;
+import com.mindsdb.utils.Utils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Token bucket that refills at a fixed rate up to its burst size. Each request takes one token;
+ * when none is left, the request waits for the next one instead of failing, which spreads bursts
+ * out at the sustained rate.
+ * <p>
+ * Tokens are reserved in arrival order, so waiting callers are served first come, first served,
+ * whether they block in {@link #acquire()} or wait on {@link #acquireAsync()}. The server can
+ * pause the bucket, e.g. for the {@code Retry-After} of a 429, which delays every caller.
+ * </p>
+ */
+@Slf4j
+public class TokenBucket {
+
+    private static final Duration DEFAULT_THROTTLE_PAUSE = Duration.ofSeconds(1);
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+    /** Name of the budget, used in log messages. */
+    @Getter private final String name;
+
+    /** Sustained rate in tokens per second; {@code 0} or less for no limit. */
+    @Getter private final double rate;
+
+    /** Maximum number of tokens the bucket holds. */
+    @Getter private final int burst;
+
+    private final boolean adaptive;
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private long pausedUntil = refilledAt;
+
+    TokenBucket(String name, double rate, int burst, boolean adaptive) {
+        this.name = name;
+        this.rate = rate;
+        this.burst = Math.max(1, burst);
+        this.adaptive = adaptive;
+        this.tokens = this.burst;
+    }
+
+    /**
+     * Takes a token, blocking until one is available.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+
+    /**
+     * Takes a token without blocking.
+     *
+     * @return a future that completes once the token is available
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNanos = reserve();
+        if (waitNanos <= 0) return ACQUIRED;
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Takes a token only if one is available right now.
+     *
+     * @return {@code true} if a token was taken
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        refill(now);
+        if (now < pausedUntil || (rate > 0 && tokens < 1)) return false;
+        if (rate > 0) tokens--;
+        return true;
+    }
+
+    /**
+     * Stops handing out tokens for the given time, e.g. because the server answered with a 429.
+     *
+     * @param retryAfter how long to pause, or {@code null} for a default pause of one second
+     */
+    void throttled(Duration retryAfter) {
+        if (!adaptive) return;
+        Duration pause = retryAfter != null ? retryAfter : DEFAULT_THROTTLE_PAUSE;
+        log.debug("Pausing {} rate limit budget for {} ms", name, pause.toMillis());
+        synchronized (this) {
+            pausedUntil = Math.max(pausedUntil, System.nanoTime() + pause.toNanos());
+        }
+    }
+
+    /**
+     * Adapts the bucket to the rate-limit headers of a response. A 429 pauses the bucket for its
+     * {@code Retry-After}; a {@code RateLimit-Remaining} of zero pauses it until
+     * {@code RateLimit-Reset}, and a lower remaining quota caps the tokens in the bucket.
+     *
+     * @param status the status of the response
+     * @param header looks up a response header, returning {@code null} or an empty string if absent
+     */
+    void adapt(int status, Function<String, String> header) {
+        if (!adaptive) return;
+        if (status == 429) {
+            throttled(Utils.parseSeconds(header.apply(Constants.RETRY_AFTER_HEADER)));
+            return;
+        }
+        Long remaining = parseLong(firstHeader(header, Constants.RATE_LIMIT_REMAINING_HEADER, Constants.X_RATE_LIMIT_REMAINING_HEADER));
+        if (remaining == null) return;
+        if (remaining <= 0) {
+            Duration reset = resetDelay(firstHeader(header, Constants.RATE_LIMIT_RESET_HEADER, Constants.X_RATE_LIMIT_RESET_HEADER));
+            if (reset != null) throttled(reset);
+        } else if (rate > 0) {
+            synchronized (this) {
+                tokens = Math.min(tokens, remaining);
+            }
+        }
+    }
+
+    /**
+     * Takes a token, going into debt if none is left, and returns how long the caller has to wait
+     * until its token is actually available.
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        refill(now);
+        long waitNanos = Math.max(0, pausedUntil - now);
+        if (rate > 0) {
+            tokens--;
+            if (tokens < 0) waitNanos = Math.max(waitNanos, (long) (-tokens / rate * 1_000_000_000L));
+        }
+        return waitNanos;
+    }
+
+    private void refill(long now) {
+        if (rate > 0 && now > refilledAt) tokens = Math.min(burst, tokens + (now - refilledAt) * rate / 1_000_000_000L);
+        refilledAt = now;
+    }
+
+    private static String firstHeader(Function<String, String> header, String name, String alternative) {
+        String value = header.apply(name);
+        return value == null || value.isBlank() ? header.apply(alternative) : value;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Long.parseLong(value.strip());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a reset header, which holds either the seconds until the reset or, as some servers
+     * send it, the epoch second of the reset.
+     */
+    private static Duration resetDelay(String value) {
+        Long seconds = parseLong(value);
+        if (seconds == null) return null;
+        if (seconds > 1_000_000_000L) seconds = Math.max(0, seconds - System.currentTimeMillis() / 1000);
+        return Duration.ofSeconds(seconds);
+    }
+}
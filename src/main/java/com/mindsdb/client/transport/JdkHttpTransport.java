@@ -0,0 +1,109 @@
+package com.mindsdb.client.transport;
+
+import com.mindsdb.client.ConnectionPoolConfig;
+
+import java.io.InputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport built on {@code java.net.http}. It negotiates HTTP/2 with servers that support it and
+ * then multiplexes concurrent requests over a few connections instead of opening one per request;
+ * with other servers it falls back to HTTP/1.1. Chat completions share its client, so
+ * control-plane calls and completion streams use the same connections.
+ */
+public class JdkHttpTransport implements Transport {
+
+    private static final String KEEPALIVE_TIMEOUT_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+    private final String baseUrl;
+    private final Map<String, String> defaultHeaders;
+    private final ConnectionPoolConfig poolConfig;
+    private final CookieManager cookies = new CookieManager();
+    private volatile HttpClient httpClient;
+
+    public JdkHttpTransport(String baseUrl, Map<String, String> defaultHeaders, ConnectionPoolConfig poolConfig) {
+        this.baseUrl = baseUrl;
+        this.defaultHeaders = Map.copyOf(defaultHeaders);
+        this.poolConfig = poolConfig;
+        applyIdleTimeout(poolConfig.getIdleTimeout());
+        this.httpClient = newHttpClient();
+    }
+
+    @Override
+    public TransportResponse<String> send(TransportRequest request) throws Exception {
+        HttpResponse<String> httpResponse = httpClient.send(build(request), HttpResponse.BodyHandlers.ofString());
+        return new TransportResponse<>(httpResponse.statusCode(), httpResponse.headers().map(), httpResponse.body());
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse<String>> sendAsync(TransportRequest request) {
+        return httpClient.sendAsync(build(request), HttpResponse.BodyHandlers.ofString())
+                .thenApply(httpResponse -> new TransportResponse<>(httpResponse.statusCode(), httpResponse.headers().map(), httpResponse.body()));
+    }
+
+    @Override
+    public TransportResponse<InputStream> sendForStream(TransportRequest request) throws Exception {
+        HttpResponse<InputStream> httpResponse = httpClient.send(build(request), HttpResponse.BodyHandlers.ofInputStream());
+        return new TransportResponse<>(httpResponse.statusCode(), httpResponse.headers().map(), httpResponse.body());
+    }
+
+    /**
+     * Replaces the client, so that new requests open new connections. Idle connections of the old
+     * client are closed by its own idle timeout.
+     */
+    @Override
+    public void recycle() {
+        httpClient = newHttpClient();
+    }
+
+    @Override
+    public HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public void close() {
+        // java.net.http clients release their connections once they are no longer referenced
+    }
+
+    /**
+     * Sets how long {@code java.net.http} keeps idle pooled connections, unless the property is
+     * already set. The JDK reads it once, when the first client of the JVM opens its pool.
+     *
+     * @param idleTimeout the idle period after which connections are evicted
+     */
+    static void applyIdleTimeout(Duration idleTimeout) {
+        if (idleTimeout == null || System.getProperty(KEEPALIVE_TIMEOUT_PROPERTY) != null) return;
+        System.setProperty(KEEPALIVE_TIMEOUT_PROPERTY, String.valueOf(Math.max(1, idleTimeout.toSeconds())));
+    }
+
+    private HttpRequest build(TransportRequest request) {
+        HttpRequest.BodyPublisher body = request.getBody() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(request.getBody());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + request.getPath()))
+                .method(request.getMethod(), body);
+        defaultHeaders.forEach((name, value) -> {
+            if (!request.getHeaders().containsKey(name)) builder.header(name, value);
+        });
+        request.getHeaders().forEach(builder::header);
+        if (poolConfig.getRequestTimeout() != null) builder.timeout(poolConfig.getRequestTimeout());
+        return builder.build();
+    }
+
+    private HttpClient newHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(poolConfig.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .cookieHandler(cookies)
+                .build();
+    }
+}
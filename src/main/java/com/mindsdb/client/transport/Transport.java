@@ -0,0 +1,65 @@
+package com.mindsdb.client.transport;
+
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP backend of a {@link com.mindsdb.client.RestClient}.
+ * <p>
+ * A transport only moves bytes: it resolves request paths against the API base URL, adds the
+ * default headers it was created with and returns every response, whatever its status. Permits,
+ * retries, circuit breaking, rate limiting, interceptors and metrics are applied by the
+ * {@code RestClient} on top of it, so they behave the same whichever transport is used.
+ * </p>
+ */
+public interface Transport extends AutoCloseable {
+
+    /**
+     * Sends a request and reads the whole response body.
+     *
+     * @param request the request
+     * @return the response
+     * @throws Exception if the request could not be sent or the response not read
+     */
+    TransportResponse<String> send(TransportRequest request) throws Exception;
+
+    /**
+     * Sends a request without blocking the calling thread.
+     *
+     * @param request the request
+     * @return a future completed with the response, or exceptionally if the request failed
+     */
+    CompletableFuture<TransportResponse<String>> sendAsync(TransportRequest request);
+
+    /**
+     * Sends a request and returns the response body unread. The caller must close the stream.
+     *
+     * @param request the request
+     * @return the response with its body as a stream
+     * @throws Exception if the request could not be sent
+     */
+    TransportResponse<InputStream> sendForStream(TransportRequest request) throws Exception;
+
+    /**
+     * Drops the pooled connections so that later requests open new ones. Requests in flight keep
+     * the connections they hold.
+     */
+    void recycle();
+
+    /**
+     * Returns the {@code java.net.http} client of this transport, so that chat completions can share
+     * its connections.
+     *
+     * @return the client, or {@code null} if this transport is not built on {@code java.net.http}
+     */
+    default HttpClient getHttpClient() {
+        return null;
+    }
+
+    /**
+     * Releases the connections of this transport.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,41 @@
+package com.mindsdb.client.transport;
+
+import com.mindsdb.client.ConnectionPoolConfig;
+
+import java.util.Map;
+
+/**
+ * Creates the {@link Transport} of a {@link com.mindsdb.client.RestClient}.
+ */
+@FunctionalInterface
+public interface TransportFactory {
+
+    /**
+     * Creates a transport.
+     *
+     * @param baseUrl        the API base URL request paths are resolved against
+     * @param defaultHeaders the headers sent with every request, such as the authorization
+     * @param poolConfig     the connection pool settings
+     * @return a new transport owned by the caller
+     */
+    Transport create(String baseUrl, Map<String, String> defaultHeaders, ConnectionPoolConfig poolConfig);
+
+    /**
+     * Returns the factory of the Unirest transport, one HTTP/1.1 connection per in-flight request.
+     *
+     * @return the Unirest transport factory
+     */
+    static TransportFactory unirest() {
+        return UnirestTransport::new;
+    }
+
+    /**
+     * Returns the factory of the {@code java.net.http} transport, which multiplexes requests over
+     * HTTP/2 connections where the server supports it.
+     *
+     * @return the HTTP/2 transport factory
+     */
+    static TransportFactory http2() {
+        return JdkHttpTransport::new;
+    }
+}
@@ -0,0 +1,26 @@
+package com.mindsdb.client.transport;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Request handed to a {@link Transport}.
+ */
+@Getter
+@Builder
+public class TransportRequest {
+
+    /** HTTP method, e.g. {@code GET}. */
+    private final String method;
+
+    /** Path relative to the API base URL, e.g. {@code /projects/mindsdb/minds}. */
+    private final String path;
+
+    /** Headers sent in addition to the transport's default headers, replacing defaults of the same name. */
+    @Builder.Default private final Map<String, String> headers = Map.of();
+
+    /** Body of the request, or {@code null} for requests without one. */
+    private final String body;
+}
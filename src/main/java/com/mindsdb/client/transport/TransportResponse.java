@@ -0,0 +1,50 @@
+package com.mindsdb.client.transport;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response returned by a {@link Transport}.
+ *
+ * @param <T> the type of the body, a {@code String} or an unread {@code InputStream}
+ */
+public class TransportResponse<T> {
+
+    /** HTTP status code. */
+    @Getter private final int status;
+
+    /** Body of the response. */
+    @Getter private final T body;
+
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    public TransportResponse(int status, Map<String, List<String>> headers, T body) {
+        this.status = status;
+        this.body = body;
+        this.headers.putAll(headers);
+    }
+
+    /**
+     * Returns the first value of a header.
+     *
+     * @param name the header name, in any case
+     * @return the value, or {@code null} if the header is absent
+     */
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Returns all headers of the response.
+     *
+     * @return an unmodifiable map from header name, looked up in any case, to its values
+     */
+    public Map<String, List<String>> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+}
@@ -0,0 +1,94 @@
+package com.mindsdb.client.transport;
+
+import com.mindsdb.client.ConnectionPoolConfig;
+import kong.unirest.core.Header;
+import kong.unirest.core.HttpRequest;
+import kong.unirest.core.HttpResponse;
+import kong.unirest.core.RawResponse;
+import kong.unirest.core.Unirest;
+import kong.unirest.core.UnirestInstance;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport built on an isolated Unirest instance, so base URL, default headers and connection
+ * pool are never shared with other clients in the same JVM. Each in-flight request uses its own
+ * HTTP/1.1 connection.
+ */
+public class UnirestTransport implements Transport {
+
+    private final UnirestInstance unirest = Unirest.spawnInstance();
+
+    public UnirestTransport(String baseUrl, Map<String, String> defaultHeaders, ConnectionPoolConfig poolConfig) {
+        JdkHttpTransport.applyIdleTimeout(poolConfig.getIdleTimeout());
+        unirest.config()
+                .enableCookieManagement(true)
+                .defaultBaseUrl(baseUrl)
+                .connectTimeout((int) poolConfig.getConnectTimeout().toMillis());
+        defaultHeaders.forEach(unirest.config()::addDefaultHeader);
+        if (poolConfig.getRequestTimeout() != null) unirest.config().requestTimeout((int) poolConfig.getRequestTimeout().toMillis());
+    }
+
+    @Override
+    public TransportResponse<String> send(TransportRequest request) {
+        HttpResponse<String> httpResponse = build(request).asString();
+        return new TransportResponse<>(httpResponse.getStatus(), headers(httpResponse), httpResponse.getBody());
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse<String>> sendAsync(TransportRequest request) {
+        return build(request).asStringAsync()
+                .thenApply(httpResponse -> new TransportResponse<>(httpResponse.getStatus(), headers(httpResponse), httpResponse.getBody()));
+    }
+
+    @Override
+    public TransportResponse<InputStream> sendForStream(TransportRequest request) {
+        HttpResponse<InputStream> httpResponse = build(request).asObject(RawResponse::getContent);
+        return new TransportResponse<>(httpResponse.getStatus(), headers(httpResponse), httpResponse.getBody());
+    }
+
+    @Override
+    public void recycle() {
+        unirest.config().reset(false);
+    }
+
+    @Override
+    public void close() {
+        unirest.close();
+    }
+
+    private HttpRequest<?> build(TransportRequest request) {
+        String path = request.getPath();
+        HttpRequest<?> httpRequest;
+        switch (request.getMethod()) {
+            case "GET":
+                httpRequest = unirest.get(path);
+                break;
+            case "DELETE":
+                httpRequest = unirest.delete(path);
+                break;
+            case "POST":
+                httpRequest = request.getBody() == null ? unirest.post(path) : unirest.post(path).body(request.getBody());
+                break;
+            case "PATCH":
+                httpRequest = request.getBody() == null ? unirest.patch(path) : unirest.patch(path).body(request.getBody());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported HTTP method " + request.getMethod());
+        }
+        return httpRequest.headers(request.getHeaders());
+    }
+
+    private static Map<String, List<String>> headers(HttpResponse<?> httpResponse) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : httpResponse.getHeaders().all()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mindsdb.exception;
+
+/**
+ * Exception thrown when a request is not sent because the circuit breaker
+ * of its route is open after repeated server or connection failures.
+ */
+public class CircuitBreakerOpenException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+
+}
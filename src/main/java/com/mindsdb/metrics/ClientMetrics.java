@@ -0,0 +1,81 @@
+package com.mindsdb.metrics;
+
+/**
+ * Receives measurements of the requests a client sends, for export to a metrics backend.
+ * <p>
+ * Requests are identified by their HTTP method and route template, e.g.
+ * {@code /projects/{project}/minds/{mind}}, never by the raw URL, so the number of distinct series
+ * stays small. Completions are reported under {@code POST /chat/completions}. Implementations are
+ * called on the request path from many threads and should be cheap and thread-safe.
+ * </p>
+ */
+public interface ClientMetrics {
+
+    /**
+     * Called when a request is about to be sent, after it obtained its connection permits.
+     *
+     * @param method the HTTP method
+     * @param route  the route template
+     */
+    void requestStarted(String method, String route);
+
+    /**
+     * Called when a response was received, whatever its status code.
+     *
+     * @param method        the HTTP method
+     * @param route         the route template
+     * @param status        the HTTP status code
+     * @param latencyNanos  the time from sending the request until the response was read
+     * @param bytesSent     the size of the request body
+     * @param bytesReceived the size of the response body
+     */
+    void requestCompleted(String method, String route, int status, long latencyNanos, long bytesSent, long bytesReceived);
+
+    /**
+     * Called when a request failed without a response, e.g. on a connection error or timeout.
+     *
+     * @param method       the HTTP method
+     * @param route        the route template
+     * @param error        the failure
+     * @param latencyNanos the time from sending the request until it failed
+     */
+    void requestFailed(String method, String route, Throwable error, long latencyNanos);
+
+    /**
+     * Called each time a request is sent again after a retryable response.
+     *
+     * @param method the HTTP method
+     * @param route  the route template
+     */
+    void requestRetried(String method, String route);
+
+    /**
+     * Called when a GET joins an identical request already in flight instead of being sent.
+     *
+     * @param method the HTTP method
+     * @param route  the route template
+     */
+    default void requestCoalesced(String method, String route) {
+    }
+
+    /**
+     * Called when a streamed completion ends, with the latency its consumer experienced.
+     *
+     * @param method                the HTTP method
+     * @param route                 the route template
+     * @param timeToFirstTokenNanos the time from sending the request until the first token, or -1 if none arrived
+     * @param tokens                the number of tokens received
+     * @param generationNanos       the time from the first token until the stream ended
+     */
+    default void streamCompleted(String method, String route, long timeToFirstTokenNanos, long tokens, long generationNanos) {
+    }
+
+    /**
+     * Returns an implementation that discards every measurement.
+     *
+     * @return the no-op metrics
+     */
+    static ClientMetrics noop() {
+        return NoopClientMetrics.INSTANCE;
+    }
+}
@@ -0,0 +1,136 @@
+package com.mindsdb.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default metrics of a client: keeps counters, an in-flight gauge and a latency histogram per
+ * method and route in memory. Recording allocates nothing once a route has been seen, so it is
+ * cheap enough to stay on in production; read it with {@link #snapshot()}, or plug in another
+ * {@link ClientMetrics} implementation to export to a metrics backend instead.
+ */
+public class InMemoryClientMetrics implements ClientMetrics {
+
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public void requestStarted(String method, String route) {
+        routeMetrics(method, route).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void requestCompleted(String method, String route, int status, long latencyNanos, long bytesSent, long bytesReceived) {
+        RouteMetrics metrics = routeMetrics(method, route);
+        metrics.inFlight.decrementAndGet();
+        metrics.latency.record(latencyNanos);
+        metrics.statusCounts.computeIfAbsent(status, code -> new LongAdder()).increment();
+        metrics.bytesSent.add(bytesSent);
+        metrics.bytesReceived.add(bytesReceived);
+    }
+
+    @Override
+    public void requestFailed(String method, String route, Throwable error, long latencyNanos) {
+        RouteMetrics metrics = routeMetrics(method, route);
+        metrics.inFlight.decrementAndGet();
+        metrics.latency.record(latencyNanos);
+        metrics.failures.increment();
+    }
+
+    @Override
+    public void requestRetried(String method, String route) {
+        routeMetrics(method, route).retries.increment();
+    }
+
+    @Override
+    public void requestCoalesced(String method, String route) {
+        routeMetrics(method, route).coalesced.increment();
+    }
+
+    @Override
+    public void streamCompleted(String method, String route, long timeToFirstTokenNanos, long tokens, long generationNanos) {
+        if (timeToFirstTokenNanos < 0) return;
+        RouteMetrics metrics = routeMetrics(method, route);
+        metrics.timeToFirstToken.record(timeToFirstTokenNanos);
+        if (tokens < 2) return;
+        metrics.streamedTokens.add(tokens - 1);
+        metrics.generationNanos.add(generationNanos);
+    }
+
+    /**
+     * Returns the measurements of every route seen so far, ordered by route and method.
+     *
+     * @return a snapshot per method and route
+     */
+    public List<RouteMetricsSnapshot> snapshot() {
+        List<RouteMetricsSnapshot> snapshots = new ArrayList<>();
+        routes.values().forEach(metrics -> snapshots.add(metrics.snapshot()));
+        snapshots.sort(Comparator.comparing(RouteMetricsSnapshot::getRoute).thenComparing(RouteMetricsSnapshot::getMethod));
+        return snapshots;
+    }
+
+    /**
+     * Returns the measurements of one route.
+     *
+     * @param method the HTTP method
+     * @param route  the route template, e.g. {@code /projects/{project}/minds/{mind}}
+     * @return the snapshot, or an empty Optional if the route has not been requested
+     */
+    public Optional<RouteMetricsSnapshot> snapshot(String method, String route) {
+        return Optional.ofNullable(routes.get(key(method, route))).map(RouteMetrics::snapshot);
+    }
+
+    /**
+     * Discards all measurements.
+     */
+    public void reset() {
+        routes.clear();
+    }
+
+    private RouteMetrics routeMetrics(String method, String route) {
+        return routes.computeIfAbsent(key(method, route), key -> new RouteMetrics(method, route));
+    }
+
+    private static String key(String method, String route) {
+        return method + ' ' + route;
+    }
+
+    private static class RouteMetrics {
+        private final String method;
+        private final String route;
+        private final AtomicLong inFlight = new AtomicLong();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram timeToFirstToken = new LatencyHistogram();
+        private final LongAdder streamedTokens = new LongAdder();
+        private final LongAdder generationNanos = new LongAdder();
+
+        private RouteMetrics(String method, String route) {
+            this.method = method;
+            this.route = route;
+        }
+
+        private RouteMetricsSnapshot snapshot() {
+            Map<Integer, Long> statuses = new TreeMap<>();
+            statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+            long responses = statuses.values().stream().mapToLong(Long::longValue).sum();
+            long generation = generationNanos.sum();
+            double tokensPerSecond = generation <= 0 ? 0 : streamedTokens.sum() * 1_000_000_000d / generation;
+            return new RouteMetricsSnapshot(method, route, responses, failures.sum(), retries.sum(), coalesced.sum(), inFlight.get(),
+                    bytesSent.sum(), bytesReceived.sum(), statuses, latency.mean(), latency.percentile(50),
+                    latency.percentile(95), latency.percentile(99), latency.max(), timeToFirstToken.count(),
+                    timeToFirstToken.percentile(50), timeToFirstToken.percentile(95), tokensPerSecond);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mindsdb.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets. Recording is a few atomic
+ * increments; percentiles are estimated as the upper bound of the bucket they fall in, which is
+ * within a factor of two of the true value.
+ */
+class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        counts.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    Duration mean() {
+        long samples = count.sum();
+        return samples == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / samples);
+    }
+
+    Duration max() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * Estimates a percentile from the bucket counts.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, capped at the maximum seen
+     */
+    Duration percentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long samples = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            samples += snapshot[i];
+        }
+        if (samples == 0) return Duration.ZERO;
+        long rank = (long) Math.ceil(percentile / 100 * samples);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= Math.max(1, rank)) {
+                long upperBoundNanos = (1L << i) * 1_000;
+                return Duration.ofNanos(Math.min(upperBoundNanos, maxNanos.get()));
+            }
+        }
+        return max();
+    }
+}
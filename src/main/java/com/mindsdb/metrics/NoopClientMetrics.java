@@ -0,0 +1,28 @@
+package com.mindsdb.metrics;
+
+/**
+ * Metrics that discard every measurement.
+ */
+final class NoopClientMetrics implements ClientMetrics {
+
+    static final NoopClientMetrics INSTANCE = new NoopClientMetrics();
+
+    private NoopClientMetrics() {
+    }
+
+    @Override
+    public void requestStarted(String method, String route) {
+    }
+
+    @Override
+    public void requestCompleted(String method, String route, int status, long latencyNanos, long bytesSent, long bytesReceived) {
+    }
+
+    @Override
+    public void requestFailed(String method, String route, Throwable error, long latencyNanos) {
+    }
+
+    @Override
+    public void requestRetried(String method, String route) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.mindsdb.metrics;
+
+/**
+ * Measures one request and reports its start and outcome to a {@link ClientMetrics}.
+ */
+public final class RequestTimer {
+
+    private final ClientMetrics metrics;
+    private final String method;
+    private final String route;
+    private final long startedAt;
+
+    private RequestTimer(ClientMetrics metrics, String method, String route) {
+        this.metrics = metrics;
+        this.method = method;
+        this.route = route;
+        metrics.requestStarted(method, route);
+        this.startedAt = System.nanoTime();
+    }
+
+    /**
+     * Reports the start of a request and starts timing it.
+     *
+     * @param metrics the metrics to report to
+     * @param method  the HTTP method
+     * @param route   the route template
+     * @return the running timer
+     */
+    public static RequestTimer start(ClientMetrics metrics, String method, String route) {
+        return new RequestTimer(metrics, method, route);
+    }
+
+    /**
+     * Reports that a response was received.
+     *
+     * @param status        the HTTP status code
+     * @param bytesSent     the size of the request body
+     * @param bytesReceived the size of the response body
+     */
+    public void completed(int status, long bytesSent, long bytesReceived) {
+        metrics.requestCompleted(method, route, status, System.nanoTime() - startedAt, bytesSent, bytesReceived);
+    }
+
+    /**
+     * Reports that the request failed without a response.
+     *
+     * @param error the failure
+     */
+    public void failed(Throwable error) {
+        metrics.requestFailed(method, route, error, System.nanoTime() - startedAt);
+    }
+}
@@ -0,0 +1,74 @@
+package com.mindsdb.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Point-in-time view of the measurements of one method and route, as kept by {@link InMemoryClientMetrics}.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class RouteMetricsSnapshot {
+
+    /** HTTP method of the route. */
+    private final String method;
+
+    /** Route template, e.g. {@code /projects/{project}/minds/{mind}}. */
+    private final String route;
+
+    /** Number of responses received, whatever their status. */
+    private final long responses;
+
+    /** Number of requests that failed without a response. */
+    private final long failures;
+
+    /** Number of times a request was sent again after a retryable failure. */
+    private final long retries;
+
+    /** Number of calls that shared an identical request in flight instead of sending their own. */
+    private final long coalesced;
+
+    /** Number of requests currently in flight. */
+    private final long inFlight;
+
+    /** Total size of the request bodies sent. */
+    private final long bytesSent;
+
+    /** Total size of the response bodies received. */
+    private final long bytesReceived;
+
+    /** Number of responses per HTTP status code. */
+    private final Map<Integer, Long> statusCounts;
+
+    /** Mean latency of responses and failures. */
+    private final Duration meanLatency;
+
+    /** Estimated median latency. */
+    private final Duration p50Latency;
+
+    /** Estimated 95th percentile latency. */
+    private final Duration p95Latency;
+
+    /** Estimated 99th percentile latency. */
+    private final Duration p99Latency;
+
+    /** Highest latency seen. */
+    private final Duration maxLatency;
+
+    /** Number of streamed completions that received at least one token. */
+    private final long streams;
+
+    /** Estimated median time from sending a streamed completion until its first token. */
+    private final Duration p50TimeToFirstToken;
+
+    /** Estimated 95th percentile time from sending a streamed completion until its first token. */
+    private final Duration p95TimeToFirstToken;
+
+    /** Tokens per second generated after the first token, over all streamed completions. */
+    private final double tokensPerSecond;
+}
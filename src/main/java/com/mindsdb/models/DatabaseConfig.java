@@ -1,16 +1,24 @@
 package com.mindsdb.models;
 
 import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.mindsdb.utils.Constants;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Getter
 @Setter
 @Builder
+@NoArgsConstructor(access = AccessLevel.PACKAGE)
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
 @EqualsAndHashCode
 @Slf4j
 public class DatabaseConfig {
@@ -37,4 +45,71 @@ public class DatabaseConfig {
     public String toString(){
         return Constants.gson.toJson(this);
     }
+
+    /**
+     * Streaming adapter of a data source. It writes the fields directly, so data sources read back
+     * from the server with missing fields round-trip like they do with reflective Gson.
+     */
+    static final class JsonAdapter<T extends DatabaseConfig> extends TypeAdapter<T> {
+
+        private final Supplier<T> factory;
+        private final TypeAdapter<JsonObject> connectionData;
+        private final boolean updateBody;
+
+        /**
+         * @param factory        creates the empty instance a data source is read into
+         * @param connectionData the adapter of the connection data
+         * @param updateBody     whether to leave out {@code name} and {@code engine}, as in the
+         *                       body of an update
+         */
+        JsonAdapter(Supplier<T> factory, TypeAdapter<JsonObject> connectionData, boolean updateBody) {
+            this.factory = factory;
+            this.connectionData = connectionData;
+            this.updateBody = updateBody;
+        }
+
+        @Override
+        public void write(JsonWriter out, T value) throws IOException {
+            DatabaseConfig config = value;
+            if (config == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            if (!updateBody) {
+                out.name("name").value(config.name);
+                out.name("engine").value(config.engine);
+            }
+            out.name("description").value(config.description);
+            out.name("connection_data");
+            connectionData.write(out, config.connection_data);
+            out.name("tables");
+            ModelTypeAdapters.writeStringList(out, config.tables);
+            out.endObject();
+        }
+
+        @Override
+        public T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            T value = factory.get();
+            DatabaseConfig config = value;
+            config.tables = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name" -> config.name = ModelTypeAdapters.readString(in);
+                    case "engine" -> config.engine = ModelTypeAdapters.readString(in);
+                    case "description" -> config.description = ModelTypeAdapters.readString(in);
+                    case "connection_data" -> config.connection_data = connectionData.read(in);
+                    case "tables" -> config.tables = ModelTypeAdapters.readStringList(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return value;
+        }
+    }
 }
@@ -11,4 +11,9 @@ public class Datasource extends DatabaseConfig{
         super(name, engine, description, connection_data, tables);
     }
 
+    /** Creates an empty data source for {@link DatabaseConfig.JsonAdapter} to read into. */
+    Datasource() {
+        super();
+    }
+
 }
@@ -1,26 +1,44 @@
 package com.mindsdb.models;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.mindsdb.batch.BatchExecutor;
+import com.mindsdb.batch.BatchHandle;
+import com.mindsdb.batch.BatchOptions;
+import com.mindsdb.batch.BatchResult;
 import com.mindsdb.utils.Constants;
+import com.mindsdb.client.CompletionEngine;
+import com.mindsdb.client.CompletionPublisher;
 import com.mindsdb.client.RestClient;
+import com.mindsdb.metrics.RequestTimer;
 import com.mindsdb.utils.Utils;
 import io.github.stefanbratanov.jvm.openai.*;
-import kong.unirest.core.HttpResponse;
+import com.mindsdb.client.transport.TransportResponse;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @RequiredArgsConstructor
-@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@EqualsAndHashCode(doNotUseGetters = true)
 @Slf4j
 public class Mind {
 
@@ -39,26 +57,142 @@ public class Mind {
     private transient RestClient restClient;
 
     /**
-     * Updates the specified Mind object by sending a PATCH request to the server.
-     * Validates the Mind's name before performing the update.
+     * Set when the Mind was built without a server read, so server-side fields are fetched on first
+     * access. Being final and initialised, it is left out of the builder and the constructors.
+     */
+    @Getter(AccessLevel.NONE)
+    private final transient AtomicBoolean refreshPending = new AtomicBoolean();
+
+    /**
+     * Returns the creation timestamp. If this Mind was created without reading it back, the first
+     * call blocks on a GET of the Mind; call {@link #refresh()} to choose when that happens.
+     *
+     * @return the creation timestamp
+     */
+    public String getCreated_at() {
+        refreshIfPending();
+        return created_at;
+    }
+
+    /**
+     * Returns the last update timestamp. If this Mind was created without reading it back, the
+     * first call blocks on a GET of the Mind; call {@link #refresh()} to choose when that happens.
+     *
+     * @return the last update timestamp
+     */
+    public String getUpdated_at() {
+        refreshIfPending();
+        return updated_at;
+    }
+
+    /**
+     * Returns the model name. If this Mind was created without one and without reading it back,
+     * the first call blocks on a GET of the Mind to learn the server default; call
+     * {@link #refresh()} to choose when that happens.
+     *
+     * @return the model name
+     */
+    public String getModel_name() {
+        if (model_name == null) refreshIfPending();
+        return model_name;
+    }
+
+    /**
+     * Returns the provider. If this Mind was created without one and without reading it back, the
+     * first call blocks on a GET of the Mind to learn the server default; call {@link #refresh()}
+     * to choose when that happens.
+     *
+     * @return the provider
+     */
+    public String getProvider() {
+        if (provider == null) refreshIfPending();
+        return provider;
+    }
+
+    /**
+     * Marks this Mind as built from a creation request rather than read from the server.
+     * Server-populated fields such as {@code created_at} are then fetched with a single blocking
+     * GET the first time one of their getters is called. {@code equals}, {@code hashCode},
+     * {@code toString} and serialization read the fields directly and never trigger it.
+     */
+    public void markForLazyRefresh() {
+        refreshPending.set(true);
+    }
+
+    /**
+     * Reloads this Mind from the server and overwrites its fields in place. If the server does not
+     * describe the Mind, the fields are left unchanged and the refresh fails.
+     *
+     * @throws Exception if the Mind's name is invalid, if the HTTP request encounters an error or
+     *                   if the response holds no Mind
+     */
+    public void refresh() throws Exception {
+        Utils.validateMindName(name);
+        String endPoint = String.format(Constants.GET_MIND_ENDPOINT, Constants.MINDS_PROJECT, name);
+        Mind latest = restClient.sendConditionalGetRequest(endPoint, Utils::parseStringToMind);
+        if (latest == null) throw new Exception("Empty response when refreshing mind " + name);
+        this.datasources = latest.datasources;
+        this.created_at = latest.created_at;
+        this.model_name = latest.model_name;
+        this.prompt_template = latest.prompt_template;
+        this.parameters = latest.parameters;
+        this.provider = latest.provider;
+        this.updated_at = latest.updated_at;
+        refreshPending.set(false);
+        restClient.getMetadataCache().putMind(this);
+        log.debug("{} refreshed", name);
+    }
+
+    /**
+     * Refreshes this Mind if it is marked for a lazy refresh. A failed refresh leaves the mark set,
+     * so the next read of a server-populated field tries again.
+     */
+    private synchronized void refreshIfPending() {
+        if (!refreshPending.get() || restClient == null) return;
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Could not refresh {}, retrying on next read: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Updates this Mind to the given state by sending a single PATCH request with only the fields
+     * that differ from this handle, so the change is applied as a whole or not at all. No request
+     * is sent when nothing differs. The fields of this handle are updated in place once the request
+     * is accepted.
      *
      * @param newMind the Mind object containing updated information
      * @throws Exception if validation fails or if the HTTP request encounters an error
      */
     private void update(Mind newMind) throws Exception {
-        Utils.validateMindName(newMind.getName());
-        String patchBody = Constants.gson.toJson(newMind);
-        String endPoint = String.format(Constants.UPDATE_MIND_ENDPOINT, Constants.MINDS_PROJECT, name);
-        HttpResponse<String> httpResponse = restClient.sendPatchRequest(endPoint, patchBody);
-        log.debug("Response code - {}, {} updated", httpResponse.getStatus(), name);
+        Utils.validateMindName(newMind.name);
+        JsonObject delta = delta(newMind);
+        if (delta.isEmpty()) {
+            log.debug("{} is up to date, nothing to update", name);
+            return;
+        }
+        String oldName = name;
+        try {
+            String endPoint = String.format(Constants.UPDATE_MIND_ENDPOINT, Constants.MINDS_PROJECT, oldName);
+            TransportResponse<String> httpResponse = restClient.sendPatchRequest(endPoint, delta.toString());
+            log.debug("Response code - {}, {} updated", httpResponse.getStatus(), oldName);
+            apply(newMind, delta);
+        } finally {
+            invalidateCaches(oldName);
+            invalidateCaches(newMind.name);
+        }
     }
 
     /**
-     * Updates the Mind with new parameters by creating a Mind object
-     * from the provided parameters and then calling the update method.
+     * Updates the Mind with new parameters. Parameters that are {@code null} or empty are left
+     * unchanged, except the data sources: {@code null} leaves them unchanged and an empty list
+     * detaches all of them. Only the fields that differ from this handle are sent in one PATCH,
+     * the data sources only when their membership changed, and no request is made when nothing
+     * differs; this handle is then updated in place without reading the Mind back.
      *
      * @param newName the new name for the Mind
-     * @param newDatasources the new list of data sources associated with the Mind
+     * @param newDatasources the new list of data sources associated with the Mind, {@code null} to keep them
      * @param newModelName the new model name for the Mind
      * @param newParameters the new parameters for the Mind as a JsonObject
      * @param newProvider the new provider for the Mind
@@ -67,8 +201,71 @@ public class Mind {
      */
     public void update(String newName, List<String> newDatasources, String newModelName, JsonObject newParameters, String newProvider, String newPromptTemplate) throws Exception {
         Utils.validateMindName(newName);
-        Mind toBeUpdatedMind = Utils.createMindFromParams(newName, newDatasources, newModelName, newParameters, newProvider, newPromptTemplate);
-        update(toBeUpdatedMind);
+        update(requestedState(newName, newDatasources, newModelName, newParameters, newProvider, newPromptTemplate));
+    }
+
+    /**
+     * Returns the properties an {@link #update(String, List, String, JsonObject, String, String)}
+     * with the same arguments would send, without sending anything. The fields of this handle are
+     * read directly, so a pending lazy refresh is not triggered.
+     *
+     * @param newName the new name for the Mind
+     * @param newDatasources the new list of data sources associated with the Mind, {@code null} to keep them
+     * @param newModelName the new model name for the Mind
+     * @param newParameters the new parameters for the Mind as a JsonObject
+     * @param newProvider the new provider for the Mind
+     * @param newPromptTemplate the new prompt template for the Mind
+     * @return the names of the properties that differ, empty when the update would send nothing
+     */
+    public List<String> changedFields(String newName, List<String> newDatasources, String newModelName, JsonObject newParameters, String newProvider, String newPromptTemplate) {
+        return new ArrayList<>(delta(requestedState(newName, newDatasources, newModelName, newParameters, newProvider, newPromptTemplate)).keySet());
+    }
+
+    /**
+     * Builds the state an update asks for. Unlike the other parameters, an empty list of data
+     * sources is kept, since it asks for all of them to be detached.
+     */
+    private static Mind requestedState(String newName, List<String> newDatasources, String newModelName, JsonObject newParameters, String newProvider, String newPromptTemplate) {
+        Mind newMind = Utils.createMindFromParams(newName, newDatasources, newModelName, newParameters, newProvider, newPromptTemplate);
+        newMind.datasources = newDatasources == null ? null : new ArrayList<>(newDatasources);
+        return newMind;
+    }
+
+    /**
+     * Returns the fields of the given Mind that differ from this handle. Fields the given Mind
+     * leaves unset are not compared. The fields of this handle are read directly, so a pending
+     * lazy refresh is not triggered; a field not read from the server yet counts as different.
+     * Data sources are compared as a set, so a reordered list does not count as a change, and are
+     * sent as the whole new list when their membership changed.
+     */
+    private JsonObject delta(Mind newMind) {
+        JsonObject delta = new JsonObject();
+        if (!newMind.name.equals(name)) delta.addProperty(Constants.CREATE_MIND_BODY_PARAM_NAME, newMind.name);
+        if (newMind.datasources != null && (datasources == null || !new HashSet<>(newMind.datasources).equals(new HashSet<>(datasources)))) {
+            JsonArray datasourceNames = new JsonArray();
+            newMind.datasources.forEach(datasourceNames::add);
+            delta.add(Constants.CREATE_MIND_BODY_PARAM_DATASOURCES, datasourceNames);
+        }
+        if (newMind.model_name != null && !newMind.model_name.equals(model_name)) delta.addProperty("model_name", newMind.model_name);
+        if (newMind.parameters != null && !newMind.parameters.equals(parameters)) delta.add("parameters", newMind.parameters.deepCopy());
+        if (newMind.provider != null && !newMind.provider.equals(provider)) delta.addProperty("provider", newMind.provider);
+        if (newMind.prompt_template != null && !newMind.prompt_template.equals(prompt_template)) {
+            delta.addProperty(Constants.PROMPT_TEMPLATE, newMind.prompt_template);
+        }
+        return delta;
+    }
+
+    /**
+     * Copies the fields the given Mind sets onto this handle after the server accepted the
+     * given delta.
+     */
+    private synchronized void apply(Mind newMind, JsonObject delta) {
+        name = newMind.name;
+        if (delta.has(Constants.CREATE_MIND_BODY_PARAM_DATASOURCES)) datasources = new ArrayList<>(newMind.datasources);
+        if (newMind.model_name != null) model_name = newMind.model_name;
+        if (newMind.parameters != null) parameters = newMind.parameters.deepCopy();
+        if (newMind.provider != null) provider = newMind.provider;
+        if (newMind.prompt_template != null) prompt_template = newMind.prompt_template;
     }
 
     /**
@@ -82,8 +279,12 @@ public class Mind {
         Utils.validateMindName(name);
         String postBody = Utils.createRequestBodyForAddDs(newDatasourceName, true);
         String endPoint = String.format(Constants.ADD_DATASOURCE_MIND_ENDPOINT, Constants.MINDS_PROJECT, name);
-        HttpResponse<String> httpResponse = restClient.sendPostRequest(endPoint, postBody);
-        log.debug("Response code - {}. New {} datasource added", httpResponse.getStatus(), newDatasourceName);
+        try {
+            TransportResponse<String> httpResponse = restClient.sendPostRequest(endPoint, postBody);
+            log.debug("Response code - {}. New {} datasource added", httpResponse.getStatus(), newDatasourceName);
+        } finally {
+            invalidateCaches(name);
+        }
     }
 
     /**
@@ -96,60 +297,245 @@ public class Mind {
     public void dropDatasource(String datasourceName) throws Exception {
         Utils.validateDatasourceName(datasourceName);
         String endPoint = String.format(Constants.DEL_DATASOURCE_MIND_ENDPOINT, Constants.MINDS_PROJECT, name, datasourceName);
-        HttpResponse<String> httpResponse = restClient.sendDeleteRequest(endPoint);
-        log.debug("Response code - {}. {} datasource deleted from {}", httpResponse.getStatus(), datasourceName, name);
+        try {
+            TransportResponse<String> httpResponse = restClient.sendDeleteRequest(endPoint);
+            log.debug("Response code - {}. {} datasource deleted from {}", httpResponse.getStatus(), datasourceName, name);
+        } finally {
+            invalidateCaches(name);
+        }
     }
 
     /**
      * Generates a completion response based on the provided message
-     * by interacting with the OpenAI client.
+     * through the completion engine shared by all minds of the client.
      *
      * @param message the input message for which a completion is requested
      * @return the content of the completion response
      * @throws URISyntaxException if the base URL for OpenAI is invalid
      */
     public String completion(String message) throws URISyntaxException {
-        configureOpenAIClient();
-        ChatClient chatClient = openAI.chatClient();
-        CreateChatCompletionRequest createChatCompletionRequest = CreateChatCompletionRequest.newBuilder()
-                .model(name)
-                .message(ChatMessage.userMessage(message))
-                .build();
-        ChatCompletion chatCompletion = chatClient.createChatCompletion(createChatCompletionRequest);
-        return chatCompletion.choices().get(0).message().content();
+        Optional<String> cachedAnswer = restClient.getCompletionCache().get(name, model_name, prompt_template, message);
+        if (cachedAnswer.isPresent()) return cachedAnswer.get();
+        CompletionEngine completionEngine = restClient.getCompletionEngine();
+        RequestTimer timer = RequestTimer.start(restClient.getMetrics(), "POST", Constants.COMPLETION_ROUTE);
+        String answer;
+        try {
+            answer = completionEngine.complete(name, List.of(ChatMessage.userMessage(message)));
+        } catch (RuntimeException e) {
+            recordCompletionFailure(timer, Utils.utf8Length(message), e);
+            throw e;
+        }
+        timer.completed(200, Utils.utf8Length(message), Utils.utf8Length(answer));
+        restClient.getCompletionCache().put(name, model_name, prompt_template, message, answer);
+        return answer;
     }
 
     /**
      * Streams completion responses based on the provided message
-     * by interacting with the OpenAI client.
+     * through the completion engine shared by all minds of the client.
      *
      * @param message the input message for which a completion is requested
      * @return a stream of ChatCompletionChunk objects representing the streamed responses
      * @throws URISyntaxException if the base URL for OpenAI is invalid
      */
     public Stream<ChatCompletionChunk> streamCompletion(String message) throws URISyntaxException {
-        configureOpenAIClient();
-        ChatClient chatClient = openAI.chatClient();
-        CreateChatCompletionRequest request = CreateChatCompletionRequest.newBuilder()
-                .message(ChatMessage.userMessage(message))
-                .stream(true)
-                .build();
-        return chatClient.streamChatCompletion(request);
+        return restClient.getCompletionEngine().stream(name, List.of(ChatMessage.userMessage(message)));
     }
 
     /**
-     * Configures the OpenAI client with the appropriate API key and base URL.
-     * This method initializes the OpenAI client only if it has not been configured yet.
+     * Streams completion responses as a publisher of text deltas. Chunks are only read from the
+     * connection as fast as the subscriber requests them, and cancelling the subscription closes it.
+     * Time to first token and token rate are available from {@code CompletionPublisher.getMetrics()}.
+     *
+     * @param message the input message for which a completion is requested
+     * @return a publisher of the content of the streamed response
+     * @throws URISyntaxException if the base URL for OpenAI is invalid
+     */
+    public CompletionPublisher completionPublisher(String message) throws URISyntaxException {
+        return restClient.getCompletionEngine().publish(name, List.of(ChatMessage.userMessage(message)));
+    }
+
+    /**
+     * Starts a multi-turn conversation with this Mind using the default session settings.
+     *
+     * @return a new session with an empty history
+     */
+    public MindSession session() {
+        return session(SessionConfig.defaults());
+    }
+
+    /**
+     * Starts a multi-turn conversation with this Mind. Each turn sends the history of the session,
+     * trimmed to the budgets of {@code config}, through the completion engine shared by all minds
+     * of the client.
+     *
+     * @param config the session settings
+     * @return a new session with an empty history
+     */
+    public MindSession session(SessionConfig config) {
+        return new MindSession(name, restClient, config);
+    }
+
+    /**
+     * Asynchronously updates the Mind with new parameters, sending only the fields that differ from
+     * this handle in one PATCH and nothing at all when none differs. As
+     * with {@link #update(String, List, String, JsonObject, String, String)}, {@code null} data
+     * sources are left unchanged and an empty list detaches all of them.
+     *
+     * @param newName the new name for the Mind
+     * @param newDatasources the new list of data sources associated with the Mind, {@code null} to keep them
+     * @param newModelName the new model name for the Mind
+     * @param newParameters the new parameters for the Mind as a JsonObject
+     * @param newProvider the new provider for the Mind
+     * @param newPromptTemplate the new prompt template for the Mind
+     * @return a future completed once the Mind has been updated, or exceptionally if the update fails
+     */
+    public CompletableFuture<Void> updateAsync(String newName, List<String> newDatasources, String newModelName, JsonObject newParameters, String newProvider, String newPromptTemplate) {
+        try {
+            Utils.validateMindName(newName);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Mind toBeUpdatedMind = requestedState(newName, newDatasources, newModelName, newParameters, newProvider, newPromptTemplate);
+        JsonObject delta = delta(toBeUpdatedMind);
+        if (delta.isEmpty()) {
+            log.debug("{} is up to date, nothing to update", name);
+            return CompletableFuture.completedFuture(null);
+        }
+        String oldName = name;
+        String endPoint = String.format(Constants.UPDATE_MIND_ENDPOINT, Constants.MINDS_PROJECT, oldName);
+        return restClient.sendPatchRequestAsync(endPoint, delta.toString())
+                .thenAccept(httpResponse -> {
+                    log.debug("Response code - {}, {} updated", httpResponse.getStatus(), oldName);
+                    apply(toBeUpdatedMind, delta);
+                })
+                .whenComplete((ignored, throwable) -> {
+                    invalidateCaches(oldName);
+                    invalidateCaches(newName);
+                });
+    }
+
+    /**
+     * Asynchronously adds a new data source to the Mind.
+     *
+     * @param newDatasourceName the name of the new data source to be added
+     * @return a future completed once the data source has been added
+     */
+    public CompletableFuture<Void> addDatasourceAsync(String newDatasourceName) {
+        try {
+            Utils.validateMindName(name);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String postBody = Utils.createRequestBodyForAddDs(newDatasourceName, true);
+        String endPoint = String.format(Constants.ADD_DATASOURCE_MIND_ENDPOINT, Constants.MINDS_PROJECT, name);
+        return restClient.sendPostRequestAsync(endPoint, postBody)
+                .whenComplete((httpResponse, throwable) -> invalidateCaches(name))
+                .thenAccept(httpResponse -> log.debug("Response code - {}. New {} datasource added", httpResponse.getStatus(), newDatasourceName));
+    }
+
+    /**
+     * Asynchronously removes a data source from the Mind.
+     *
+     * @param datasourceName the name of the data source to be removed
+     * @return a future completed once the data source has been removed
+     */
+    public CompletableFuture<Void> dropDatasourceAsync(String datasourceName) {
+        try {
+            Utils.validateDatasourceName(datasourceName);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String endPoint = String.format(Constants.DEL_DATASOURCE_MIND_ENDPOINT, Constants.MINDS_PROJECT, name, datasourceName);
+        return restClient.sendDeleteRequestAsync(endPoint)
+                .whenComplete((httpResponse, throwable) -> invalidateCaches(name))
+                .thenAccept(httpResponse -> log.debug("Response code - {}. {} datasource deleted from {}", httpResponse.getStatus(), datasourceName, name));
+    }
+
+    /**
+     * Asynchronously generates a completion response based on the provided message. Cancelling
+     * the returned future aborts the request.
+     *
+     * @param message the input message for which a completion is requested
+     * @return a future completed with the content of the completion response
+     */
+    public CompletableFuture<String> completionAsync(String message) {
+        CompletionEngine completionEngine;
+        try {
+            completionEngine = restClient.getCompletionEngine();
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Optional<String> cachedAnswer = restClient.getCompletionCache().get(name, model_name, prompt_template, message);
+        if (cachedAnswer.isPresent()) return CompletableFuture.completedFuture(cachedAnswer.get());
+        RequestTimer timer = RequestTimer.start(restClient.getMetrics(), "POST", Constants.COMPLETION_ROUTE);
+        CompletableFuture<String> completion = completionEngine.completeAsync(name, List.of(ChatMessage.userMessage(message)));
+        return Utils.cancelling(completion
+                .whenComplete((answer, throwable) -> {
+                    if (throwable != null) recordCompletionFailure(timer, Utils.utf8Length(message), Utils.unwrap(throwable));
+                    else timer.completed(200, Utils.utf8Length(message), Utils.utf8Length(answer));
+                })
+                .thenApply(answer -> {
+                    restClient.getCompletionCache().put(name, model_name, prompt_template, message, answer);
+                    return answer;
+                }), completion);
+    }
+
+    /**
+     * Generates completions for many messages concurrently, waiting until all of them have finished.
+     *
+     * @param messages the input messages for which completions are requested
+     * @param options  the batch options; only the concurrency applies to completions
+     * @return the per-message report, in the order of {@code messages}
+     */
+    public BatchResult<String> completeAll(List<String> messages, BatchOptions options) {
+        return completeAllAsync(messages, options).getResult().join();
+    }
+
+    /**
+     * Starts generating completions for many messages with at most {@code options.getConcurrency()}
+     * requests in flight. The returned handle can cancel the remaining messages while the results
+     * of those already answered are kept.
+     *
+     * @param messages the input messages for which completions are requested
+     * @param options  the batch options; only the concurrency applies to completions
+     * @return the handle of the running batch
+     */
+    public BatchHandle<String> completeAllAsync(List<String> messages, BatchOptions options) {
+        return BatchExecutor.start(List.copyOf(messages), Function.identity(), this::completionAsync, options.getConcurrency());
+    }
+
+    /**
+     * Reports a failed completion, as a response if the server answered with an error status.
+     *
+     * @param timer     the timer of the completion
+     * @param bytesSent the size of the messages that were sent
+     * @param error     the failure of the completion
+     */
+    static void recordCompletionFailure(RequestTimer timer, long bytesSent, Throwable error) {
+        if (error instanceof OpenAIException) timer.completed(((OpenAIException) error).statusCode(), bytesSent, 0);
+        else timer.failed(error);
+    }
+
+    /**
+     * Drops the cached metadata and completion answers of the named mind after a change to it.
+     *
+     * @param mindName the name of the mind that changed
+     */
+    private void invalidateCaches(String mindName) {
+        restClient.getMetadataCache().invalidateMind(mindName);
+        restClient.getCompletionCache().invalidateMind(mindName);
+    }
+
+    /**
+     * Binds this Mind to the OpenAI client of the completion engine shared by all minds of the
+     * client, instead of building a client of its own.
      *
      * @throws URISyntaxException if the base URL for OpenAI is invalid
      */
     public synchronized void configureOpenAIClient() throws URISyntaxException {
-        String openAIBaseUrl = Utils.getBaseUrlForOpenAI(restClient.getBaseUrl());
         if(this.openAI == null){
-            this.openAI = OpenAI
-                    .newBuilder(restClient.getApiKey())
-                    .requestTimeout(Duration.ofSeconds(10))
-                    .baseUrl(openAIBaseUrl).build();
+            this.openAI = restClient.getCompletionEngine().getOpenAI();
         }
     }
 
@@ -157,4 +543,63 @@ public class Mind {
     public String toString(){
         return Constants.gson.toJson(this);
     }
+
+    /**
+     * Streaming adapter of a Mind. It reads and writes the fields directly, so serializing a Mind
+     * created without a server read does not trigger its lazy refresh.
+     */
+    static final class JsonAdapter extends TypeAdapter<Mind> {
+
+        private final TypeAdapter<JsonObject> parameters;
+
+        JsonAdapter(TypeAdapter<JsonObject> parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public void write(JsonWriter out, Mind mind) throws IOException {
+            if (mind == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("name").value(mind.name);
+            out.name("datasources");
+            ModelTypeAdapters.writeStringList(out, mind.datasources);
+            out.name("created_at").value(mind.created_at);
+            out.name("model_name").value(mind.model_name);
+            out.name("prompt_template").value(mind.prompt_template);
+            out.name("parameters");
+            parameters.write(out, mind.parameters);
+            out.name("provider").value(mind.provider);
+            out.name("updated_at").value(mind.updated_at);
+            out.endObject();
+        }
+
+        @Override
+        public Mind read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Mind mind = new Mind();
+            mind.datasources = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name" -> mind.name = ModelTypeAdapters.readString(in);
+                    case "datasources" -> mind.datasources = ModelTypeAdapters.readStringList(in);
+                    case "created_at" -> mind.created_at = ModelTypeAdapters.readString(in);
+                    case "model_name" -> mind.model_name = ModelTypeAdapters.readString(in);
+                    case "prompt_template" -> mind.prompt_template = ModelTypeAdapters.readString(in);
+                    case "parameters" -> mind.parameters = parameters.read(in);
+                    case "provider" -> mind.provider = ModelTypeAdapters.readString(in);
+                    case "updated_at" -> mind.updated_at = ModelTypeAdapters.readString(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return mind;
+        }
+    }
 }
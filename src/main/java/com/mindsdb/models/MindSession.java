@@ -0,0 +1,262 @@
+package com.mindsdb.models;
+
+import com.mindsdb.client.CompletionEngine;
+import com.mindsdb.client.RestClient;
+import com.mindsdb.metrics.RequestTimer;
+import com.mindsdb.utils.Constants;
+import com.mindsdb.utils.Utils;
+import io.github.stefanbratanov.jvm.openai.ChatCompletionChunk;
+import io.github.stefanbratanov.jvm.openai.ChatMessage;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A multi-turn conversation with a {@link Mind}, obtained from {@link Mind#session(SessionConfig)}.
+ * <p>
+ * Every answered turn is kept in a ring buffer of {@code SessionConfig.maxTurns} turns. Before
+ * each request the history is trimmed to the token and character budgets of the session, dropping
+ * the oldest turns first, so the request size stays bounded however long the conversation grows.
+ * The new message is always sent, even when it alone exceeds the budget.
+ * </p>
+ * <p>
+ * Turns are not cached in the completion cache, since the answer depends on the history. A turn
+ * that fails is not remembered. Turns are meant to be sent one after another; turns that overlap
+ * do not see each other and are remembered in the order they complete.
+ * </p>
+ */
+@Slf4j
+public class MindSession {
+
+    private final String mindName;
+    private final RestClient restClient;
+    @Getter private final SessionConfig config;
+
+    private final Turn[] turns;
+    private int first;
+    private int size;
+
+    MindSession(String mindName, RestClient restClient, SessionConfig config) {
+        this.mindName = mindName;
+        this.restClient = restClient;
+        this.config = config;
+        this.turns = new Turn[config.getMaxTurns()];
+    }
+
+    /**
+     * Sends a message with the history of the session and waits for the answer, which is added to
+     * the history.
+     *
+     * @param message the message of the user
+     * @return the content of the answer
+     * @throws URISyntaxException if the base URL for OpenAI is invalid
+     */
+    public String send(String message) throws URISyntaxException {
+        CompletionEngine completionEngine = restClient.getCompletionEngine();
+        Prompt prompt = prompt(message);
+        RequestTimer timer = RequestTimer.start(restClient.getMetrics(), "POST", Constants.COMPLETION_ROUTE);
+        String answer;
+        try {
+            answer = completionEngine.complete(mindName, prompt.messages);
+        } catch (RuntimeException e) {
+            Mind.recordCompletionFailure(timer, prompt.bytes, e);
+            throw e;
+        }
+        timer.completed(200, prompt.bytes, Utils.utf8Length(answer));
+        remember(message, answer);
+        return answer;
+    }
+
+    /**
+     * Asynchronously sends a message with the history of the session. The answer is added to the
+     * history before the returned future completes. Cancelling the returned future aborts the
+     * request.
+     *
+     * @param message the message of the user
+     * @return a future completed with the content of the answer
+     */
+    public CompletableFuture<String> sendAsync(String message) {
+        CompletionEngine completionEngine;
+        try {
+            completionEngine = restClient.getCompletionEngine();
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Prompt prompt = prompt(message);
+        RequestTimer timer = RequestTimer.start(restClient.getMetrics(), "POST", Constants.COMPLETION_ROUTE);
+        CompletableFuture<String> completion = completionEngine.completeAsync(mindName, prompt.messages);
+        return Utils.cancelling(completion
+                .whenComplete((answer, throwable) -> {
+                    if (throwable != null) Mind.recordCompletionFailure(timer, prompt.bytes, Utils.unwrap(throwable));
+                    else timer.completed(200, prompt.bytes, Utils.utf8Length(answer));
+                })
+                .thenApply(answer -> {
+                    remember(message, answer);
+                    return answer;
+                }), completion);
+    }
+
+    /**
+     * Streams the answer to a message sent with the history of the session. The answer is added to
+     * the history once the stream has been consumed to the end; a stream closed early leaves the
+     * history unchanged. Closing the stream closes the connection.
+     *
+     * @param message the message of the user
+     * @return a lazy stream of ChatCompletionChunk objects representing the streamed answer
+     * @throws URISyntaxException if the base URL for OpenAI is invalid
+     */
+    public Stream<ChatCompletionChunk> stream(String message) throws URISyntaxException {
+        Stream<ChatCompletionChunk> chunks = restClient.getCompletionEngine().stream(mindName, prompt(message).messages);
+        Iterator<ChatCompletionChunk> source = chunks.iterator();
+        StringBuilder answer = new StringBuilder();
+        Iterator<ChatCompletionChunk> remembering = new Iterator<>() {
+            private boolean remembered;
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = source.hasNext();
+                if (!hasNext && !remembered) {
+                    remembered = true;
+                    remember(message, answer.toString());
+                }
+                return hasNext;
+            }
+
+            @Override
+            public ChatCompletionChunk next() {
+                ChatCompletionChunk chunk = source.next();
+                if (chunk.choices() != null && !chunk.choices().isEmpty()) {
+                    String content = chunk.choices().get(0).delta().content();
+                    if (content != null) answer.append(content);
+                }
+                return chunk;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(remembering, Spliterator.ORDERED), false)
+                .onClose(chunks::close);
+    }
+
+    /**
+     * Returns the remembered turns, oldest first, as user and assistant messages.
+     *
+     * @return the history of the session
+     */
+    public synchronized List<ChatMessage> getHistory() {
+        List<ChatMessage> history = new ArrayList<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            Turn turn = turns[(first + i) % turns.length];
+            history.add(ChatMessage.userMessage(turn.message));
+            history.add(ChatMessage.assistantMessage(turn.answer));
+        }
+        return history;
+    }
+
+    /**
+     * Returns the number of remembered turns.
+     *
+     * @return the number of turns in the history, at most {@code SessionConfig.maxTurns}
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Forgets every turn, starting a new conversation.
+     */
+    public synchronized void clear() {
+        Arrays.fill(turns, null);
+        first = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds an answered turn to the history, overwriting the oldest turn when the buffer is full.
+     *
+     * @param message the message of the user
+     * @param answer  the answer of the mind
+     */
+    synchronized void remember(String message, String answer) {
+        if (turns.length == 0) return;
+        Turn turn = new Turn(message, answer == null ? "" : answer);
+        if (size < turns.length) {
+            turns[(first + size) % turns.length] = turn;
+            size++;
+        } else {
+            turns[first] = turn;
+            first = (first + 1) % turns.length;
+        }
+    }
+
+    /**
+     * Builds the messages of a turn: the system prompt, the most recent turns that fit in the
+     * budgets, and the new message. Turns are dropped whole, oldest first.
+     *
+     * @param message the message of the user
+     * @return the messages to send and their size
+     */
+    synchronized Prompt prompt(String message) {
+        String systemPrompt = config.getSystemPrompt();
+        long tokens = tokens(message) + (systemPrompt == null ? 0 : tokens(systemPrompt));
+        long characters = message.length() + (systemPrompt == null ? 0 : systemPrompt.length());
+        long bytes = Utils.utf8Length(message) + (systemPrompt == null ? 0 : Utils.utf8Length(systemPrompt));
+        Deque<ChatMessage> messages = new ArrayDeque<>();
+        int kept = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            Turn turn = turns[(first + i) % turns.length];
+            long turnTokens = tokens(turn.message) + tokens(turn.answer);
+            long turnCharacters = turn.message.length() + turn.answer.length();
+            if (exceeds(tokens + turnTokens, config.getMaxTokens()) || exceeds(characters + turnCharacters, config.getMaxCharacters())) break;
+            tokens += turnTokens;
+            characters += turnCharacters;
+            bytes += Utils.utf8Length(turn.message) + Utils.utf8Length(turn.answer);
+            messages.addFirst(ChatMessage.assistantMessage(turn.answer));
+            messages.addFirst(ChatMessage.userMessage(turn.message));
+            kept++;
+        }
+        if (kept < size) log.debug("Sending {} of {} turns of the session with {}, about {} tokens", kept, size, mindName, tokens);
+        if (systemPrompt != null) messages.addFirst(ChatMessage.systemMessage(systemPrompt));
+        messages.addLast(ChatMessage.userMessage(message));
+        return new Prompt(new ArrayList<>(messages), bytes);
+    }
+
+    private long tokens(String text) {
+        return config.getTokenCounter().applyAsInt(text);
+    }
+
+    private static boolean exceeds(long used, int budget) {
+        return budget > 0 && used > budget;
+    }
+
+    private static final class Turn {
+        private final String message;
+        private final String answer;
+
+        private Turn(String message, String answer) {
+            this.message = message;
+            this.answer = answer;
+        }
+    }
+
+    /** The messages of a turn, with the UTF-8 size of their contents for the request metrics. */
+    static final class Prompt {
+        final List<ChatMessage> messages;
+        final long bytes;
+
+        private Prompt(List<ChatMessage> messages, long bytes) {
+            this.messages = messages;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.mindsdb.models;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming Gson adapters of the models, used instead of reflection.
+ * <p>
+ * The adapters read and write the same JSON as reflective Gson: fields in declaration order,
+ * {@code null} fields left out, unknown fields ignored and missing fields left {@code null}.
+ * Register {@link #FACTORY} on a {@link com.google.gson.GsonBuilder} to use them.
+ * </p>
+ */
+public final class ModelTypeAdapters {
+
+    /** Creates the adapters of {@link Mind}, {@link DatabaseConfig} and {@link Datasource}. */
+    public static final TypeAdapterFactory FACTORY = new TypeAdapterFactory() {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Class<? super T> raw = type.getRawType();
+            if (raw == Mind.class) {
+                return (TypeAdapter<T>) new Mind.JsonAdapter(gson.getAdapter(JsonObject.class));
+            }
+            if (raw == Datasource.class) {
+                return (TypeAdapter<T>) new DatabaseConfig.JsonAdapter<>(Datasource::new, gson.getAdapter(JsonObject.class), false);
+            }
+            if (raw == DatabaseConfig.class) {
+                return (TypeAdapter<T>) new DatabaseConfig.JsonAdapter<>(DatabaseConfig::new, gson.getAdapter(JsonObject.class), false);
+            }
+            return null;
+        }
+    };
+
+    private ModelTypeAdapters() {
+    }
+
+    /**
+     * Returns the adapter that writes the body of a datasource update: every field except
+     * {@code name} and {@code engine}, which cannot be changed.
+     *
+     * @param gson the Gson instance providing the adapter of the connection data
+     * @return the update body adapter
+     */
+    public static TypeAdapter<Datasource> datasourceUpdateBody(Gson gson) {
+        return new DatabaseConfig.JsonAdapter<>(Datasource::new, gson.getAdapter(JsonObject.class), true);
+    }
+
+    /**
+     * Reads a string the way Gson's built-in adapter does, accepting numbers and booleans.
+     */
+    static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) return Boolean.toString(in.nextBoolean());
+        return in.nextString();
+    }
+
+    static List<String> readStringList(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) values.add(readString(in));
+        in.endArray();
+        return values;
+    }
+
+    static void writeStringList(JsonWriter out, List<String> values) throws IOException {
+        if (values == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String value : values) out.value(value);
+        out.endArray();
+    }
+}
@@ -0,0 +1,48 @@
+package com.mindsdb.models;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Settings of a {@link MindSession}: how many turns it remembers and how much of them it sends.
+ */
+@Getter
+@Builder
+public class SessionConfig {
+
+    /** Maximum number of turns kept; the oldest turn is forgotten when a new one is added. */
+    @Builder.Default private int maxTurns = 20;
+
+    /**
+     * Maximum number of tokens sent with a turn, counted with the {@code tokenCounter} over the
+     * system prompt, the kept turns and the new message. {@code 0} disables the limit.
+     */
+    @Builder.Default private int maxTokens = 4000;
+
+    /** Maximum number of characters sent with a turn, counted like tokens. {@code 0} disables the limit. */
+    @Builder.Default private int maxCharacters = 0;
+
+    /**
+     * Counts the tokens of a message. The default estimates four characters per token, which is
+     * close for English text; supply the tokenizer of the model for exact budgets.
+     */
+    @Builder.Default private ToIntFunction<String> tokenCounter = SessionConfig::estimateTokens;
+
+    /** Instructions sent as a system message before the history of every turn, or {@code null}. */
+    private String systemPrompt;
+
+    /**
+     * Returns the configuration used when none is supplied.
+     *
+     * @return the default session configuration
+     */
+    public static SessionConfig defaults() {
+        return SessionConfig.builder().build();
+    }
+
+    private static int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mindsdb.reconcile;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * A single step of a {@link ReconcilePlan}, such as creating a datasource or attaching it to a mind.
+ * An action only starts once every action it depends on has succeeded.
+ */
+@Getter
+public class ReconcileAction {
+
+    /** Kinds of change a plan is made of. */
+    public enum Type {
+        CREATE_DATASOURCE("create datasource"),
+        PATCH_DATASOURCE("patch datasource"),
+        CREATE_MIND("create mind"),
+        PATCH_MIND("patch mind"),
+        ATTACH_DATASOURCE("attach datasource"),
+        DETACH_DATASOURCE("detach datasource"),
+        DROP_MIND("drop mind"),
+        DROP_DATASOURCE("drop datasource");
+
+        private final String verb;
+
+        Type(String verb) {
+            this.verb = verb;
+        }
+    }
+
+    /** Position of the action in its plan. */
+    private final int index;
+
+    /** Kind of change. */
+    private final Type type;
+
+    /** Name of the datasource or mind the action changes. */
+    private final String target;
+
+    /** The mind a datasource is attached to or detached from, or the changed fields of a patch; may be {@code null}. */
+    private final String detail;
+
+    /** Indexes of the actions that must succeed before this one starts. */
+    private final List<Integer> dependencies;
+
+    @Getter(AccessLevel.NONE)
+    private final Supplier<CompletableFuture<?>> task;
+
+    ReconcileAction(int index, Type type, String target, String detail, List<Integer> dependencies, Supplier<CompletableFuture<?>> task) {
+        this.index = index;
+        this.type = type;
+        this.target = target;
+        this.detail = detail;
+        this.dependencies = List.copyOf(dependencies);
+        this.task = task;
+    }
+
+    /**
+     * Returns a short description of the change, e.g. {@code attach datasource orders to mind sales}.
+     *
+     * @return the description of the action
+     */
+    public String describe() {
+        switch (type) {
+            case ATTACH_DATASOURCE:
+                return type.verb + " " + target + " to mind " + detail;
+            case DETACH_DATASOURCE:
+                return type.verb + " " + target + " from mind " + detail;
+            default:
+                return type.verb + " " + target + (detail == null ? "" : " (" + detail + ")");
+        }
+    }
+
+    CompletableFuture<?> run() {
+        return task.get();
+    }
+
+    @Override
+    public String toString() {
+        String after = dependencies.isEmpty() ? "" : dependencies.stream()
+                .map(dependency -> "#" + dependency)
+                .collect(Collectors.joining(", ", " after ", ""));
+        return "#" + index + " " + describe() + after;
+    }
+}
@@ -0,0 +1,33 @@
+package com.mindsdb.reconcile;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Options of a {@link Reconciler} run.
+ */
+@Getter
+@Builder
+public class ReconcileOptions {
+
+    /**
+     * Maximum number of actions in flight at once. The effective concurrency is also bounded by
+     * the connection pool of the client, see {@link com.mindsdb.client.ConnectionPoolConfig}.
+     */
+    @Builder.Default private int concurrency = 8;
+
+    /**
+     * Whether minds and datasources missing from the desired state are dropped. Datasources that
+     * a desired mind references are never dropped.
+     */
+    @Builder.Default private boolean prune = false;
+
+    /**
+     * Returns the options used when none are supplied.
+     *
+     * @return the default reconcile options
+     */
+    public static ReconcileOptions defaults() {
+        return ReconcileOptions.builder().build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.mindsdb.reconcile;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The changes that bring an account to a desired state, computed by {@link Reconciler#plan}.
+ * Nothing is changed until the plan is applied, so printing it is a dry run.
+ * <p>
+ * Actions are listed in dependency order: datasources are created and patched before the minds
+ * that reference them, and minds are detached or dropped before the datasources they used are
+ * dropped. Actions that do not depend on each other run in parallel when the plan is applied.
+ * </p>
+ */
+@Getter
+public class ReconcilePlan {
+
+    /** The actions of the plan, each listed after the actions it depends on. */
+    private final List<ReconcileAction> actions;
+
+    ReconcilePlan(List<ReconcileAction> actions) {
+        this.actions = List.copyOf(actions);
+    }
+
+    /**
+     * Returns whether the account is already in the desired state.
+     *
+     * @return {@code true} if the plan has no actions
+     */
+    public boolean isEmpty() {
+        return actions.isEmpty();
+    }
+
+    /**
+     * Returns the plan with one action per line, e.g. {@code #2 create mind sales after #0, #1}.
+     *
+     * @return the description of the plan
+     */
+    @Override
+    public String toString() {
+        if (actions.isEmpty()) return "No changes";
+        return actions.stream().map(ReconcileAction::toString).collect(Collectors.joining(System.lineSeparator()));
+    }
+}
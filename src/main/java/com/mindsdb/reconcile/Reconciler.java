@@ -0,0 +1,359 @@
+package com.mindsdb.reconcile;
+
+import com.mindsdb.batch.BatchItemResult;
+import com.mindsdb.batch.BatchResult;
+import com.mindsdb.models.DatabaseConfig;
+import com.mindsdb.models.Datasource;
+import com.mindsdb.models.Mind;
+import com.mindsdb.reconcile.ReconcileAction.Type;
+import com.mindsdb.services.DatasourcesService;
+import com.mindsdb.services.MindsService;
+import com.mindsdb.utils.Utils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Brings the minds and datasources of an account to a desired state.
+ * <p>
+ * {@link #plan} reads the current state with one {@code list()} of minds and one of datasources and
+ * diffs it against the desired state, producing the minimal set of creations, patches, datasource
+ * attachments and detachments, and, with {@code ReconcileOptions.prune}, drops. Datasources are
+ * patched with only their changed fields and minds with only their changed properties.
+ * {@link #apply} then runs the plan as a dependency graph: independent actions run in parallel,
+ * and an action whose dependency failed is skipped and reported as failed.
+ * </p>
+ * <p>
+ * A desired mind lists all its datasources; datasources it no longer lists are detached, and a
+ * mind whose datasources are {@code null} keeps the ones it has. Mind properties left {@code null}
+ * or empty are left as they are, as in {@link Mind#update}.
+ * </p>
+ */
+@Slf4j
+public class Reconciler {
+
+    private final MindsService mindsService;
+    private final DatasourcesService datasourcesService;
+
+    public Reconciler(MindsService mindsService, DatasourcesService datasourcesService) {
+        this.mindsService = mindsService;
+        this.datasourcesService = datasourcesService;
+    }
+
+    /**
+     * Computes the changes that bring the account to the desired state without making them.
+     *
+     * @param datasources the desired datasources
+     * @param minds       the desired minds, with their complete datasource lists
+     * @param options     whether objects missing from the desired state are dropped
+     * @return the plan
+     * @throws Exception if the desired state is invalid or the current state cannot be read
+     */
+    public ReconcilePlan plan(Collection<DatabaseConfig> datasources, Collection<Mind> minds, ReconcileOptions options) throws Exception {
+        List<Datasource> currentDatasources = datasourcesService.list().orElse(List.of());
+        List<Mind> currentMinds = mindsService.list().orElse(List.of());
+        return plan(datasources, minds, currentDatasources, currentMinds, options);
+    }
+
+    /**
+     * Asynchronously computes the changes that bring the account to the desired state, reading the
+     * current minds and datasources in parallel.
+     *
+     * @param datasources the desired datasources
+     * @param minds       the desired minds, with their complete datasource lists
+     * @param options     whether objects missing from the desired state are dropped
+     * @return a future completed with the plan, or exceptionally if the desired state is invalid
+     */
+    public CompletableFuture<ReconcilePlan> planAsync(Collection<DatabaseConfig> datasources, Collection<Mind> minds, ReconcileOptions options) {
+        CompletableFuture<Optional<List<Datasource>>> currentDatasources = datasourcesService.listAsync();
+        return mindsService.listAsync().thenCombine(currentDatasources, (currentMinds, currentDs) -> {
+            try {
+                return plan(datasources, minds, currentDs.orElse(List.of()), currentMinds.orElse(List.of()), options);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Applies a plan and waits for it to finish.
+     *
+     * @param plan    the plan to apply
+     * @param options the maximum number of actions in flight
+     * @return the outcome of every action, in plan order
+     */
+    public BatchResult<Void> apply(ReconcilePlan plan, ReconcileOptions options) {
+        return applyAsync(plan, options).join();
+    }
+
+    /**
+     * Asynchronously applies a plan. Each action starts as soon as the actions it depends on have
+     * succeeded, with at most {@code ReconcileOptions.concurrency} actions in flight.
+     *
+     * @param plan    the plan to apply
+     * @param options the maximum number of actions in flight
+     * @return a future completed with the outcome of every action, in plan order; it never completes
+     *         exceptionally because failures are recorded per action
+     */
+    public CompletableFuture<BatchResult<Void>> applyAsync(ReconcilePlan plan, ReconcileOptions options) {
+        return new PlanRun(plan.getActions(), options.getConcurrency()).start();
+    }
+
+    /**
+     * Plans and applies the changes that bring the account to the desired state.
+     *
+     * @param datasources the desired datasources
+     * @param minds       the desired minds, with their complete datasource lists
+     * @param options     whether objects are pruned and how many actions run at once
+     * @return the outcome of every action, in plan order
+     * @throws Exception if the desired state is invalid or the current state cannot be read
+     */
+    public BatchResult<Void> reconcile(Collection<DatabaseConfig> datasources, Collection<Mind> minds, ReconcileOptions options) throws Exception {
+        ReconcilePlan plan = plan(datasources, minds, options);
+        log.debug("Reconciling {} actions", plan.getActions().size());
+        return apply(plan, options);
+    }
+
+    private ReconcilePlan plan(Collection<DatabaseConfig> datasources, Collection<Mind> minds, List<Datasource> currentDatasources,
+                               List<Mind> currentMinds, ReconcileOptions options) throws Exception {
+        Map<String, DatabaseConfig> desiredDatasources = new LinkedHashMap<>();
+        for (DatabaseConfig datasource : datasources) {
+            Utils.validateDatabaseConfig(datasource);
+            if (desiredDatasources.put(datasource.getName(), datasource) != null) {
+                throw new Exception("datasource " + datasource.getName() + " is listed more than once");
+            }
+        }
+        Map<String, Mind> desiredMinds = new LinkedHashMap<>();
+        for (Mind mind : minds) {
+            Utils.validateMindName(mind.getName());
+            if (desiredMinds.put(mind.getName(), mind) != null) {
+                throw new Exception("mind " + mind.getName() + " is listed more than once");
+            }
+        }
+        Map<String, Datasource> existingDatasources = new LinkedHashMap<>();
+        currentDatasources.forEach(datasource -> existingDatasources.put(datasource.getName(), datasource));
+        Map<String, Mind> existingMinds = new LinkedHashMap<>();
+        currentMinds.forEach(mind -> existingMinds.put(mind.getName(), mind));
+        Set<String> referencedDatasources = new HashSet<>();
+        for (Mind mind : desiredMinds.values()) {
+            if (mind.getDatasources() == null) continue;
+            for (String datasourceName : mind.getDatasources()) {
+                if (!desiredDatasources.containsKey(datasourceName) && !existingDatasources.containsKey(datasourceName)) {
+                    throw new Exception("mind " + mind.getName() + " references unknown datasource " + datasourceName);
+                }
+                referencedDatasources.add(datasourceName);
+            }
+        }
+
+        PlanBuilder plan = new PlanBuilder();
+        Map<String, Integer> createdDatasources = new HashMap<>();
+        for (DatabaseConfig desired : desiredDatasources.values()) {
+            Datasource current = existingDatasources.get(desired.getName());
+            if (current == null) {
+                createdDatasources.put(desired.getName(), plan.add(Type.CREATE_DATASOURCE, desired.getName(), null, List.of(),
+                        () -> datasourcesService.createAsync(desired)));
+            } else if (Utils.generateDatasourceDeltaBody(current, desired) != null) {
+                plan.add(Type.PATCH_DATASOURCE, desired.getName(), null, List.of(), () -> datasourcesService.updateAsync(desired));
+            }
+        }
+
+        Map<String, List<Integer>> datasourceReleases = new HashMap<>();
+        for (Mind desired : desiredMinds.values()) {
+            Mind current = existingMinds.get(desired.getName());
+            if (current == null) {
+                List<Integer> dependencies = new ArrayList<>();
+                if (desired.getDatasources() != null) {
+                    desired.getDatasources().stream().map(createdDatasources::get).filter(Objects::nonNull).forEach(dependencies::add);
+                }
+                plan.add(Type.CREATE_MIND, desired.getName(), null, dependencies, () -> mindsService.createAsync(desired.getName(),
+                        desired.getDatasources(), desired.getModel_name(), desired.getParameters(), desired.getProvider(), desired.getPrompt_template()));
+                continue;
+            }
+            List<String> changedFields = current.changedFields(current.getName(), null, desired.getModel_name(), desired.getParameters(),
+                    desired.getProvider(), desired.getPrompt_template());
+            Integer previous = null;
+            if (!changedFields.isEmpty()) {
+                previous = plan.add(Type.PATCH_MIND, desired.getName(), String.join(", ", changedFields), List.of(),
+                        () -> current.updateAsync(current.getName(), null, desired.getModel_name(), desired.getParameters(),
+                                desired.getProvider(), desired.getPrompt_template()));
+            }
+            List<String> currentDatasourceNames = current.getDatasources() == null ? List.of() : current.getDatasources();
+            if (desired.getDatasources() == null) {
+                referencedDatasources.addAll(currentDatasourceNames);
+                continue;
+            }
+            for (String datasourceName : desired.getDatasources()) {
+                if (currentDatasourceNames.contains(datasourceName)) continue;
+                List<Integer> dependencies = new ArrayList<>();
+                if (previous != null) dependencies.add(previous);
+                if (createdDatasources.containsKey(datasourceName)) dependencies.add(createdDatasources.get(datasourceName));
+                previous = plan.add(Type.ATTACH_DATASOURCE, datasourceName, desired.getName(), dependencies,
+                        () -> current.addDatasourceAsync(datasourceName));
+            }
+            for (String datasourceName : currentDatasourceNames) {
+                if (desired.getDatasources().contains(datasourceName)) continue;
+                int detach = plan.add(Type.DETACH_DATASOURCE, datasourceName, desired.getName(), previous == null ? List.of() : List.of(previous),
+                        () -> current.dropDatasourceAsync(datasourceName));
+                datasourceReleases.computeIfAbsent(datasourceName, key -> new ArrayList<>()).add(detach);
+                previous = detach;
+            }
+        }
+
+        if (!options.isPrune()) return plan.build();
+        for (Mind current : existingMinds.values()) {
+            if (desiredMinds.containsKey(current.getName())) continue;
+            int drop = plan.add(Type.DROP_MIND, current.getName(), null, List.of(), () -> mindsService.dropAsync(current.getName()));
+            if (current.getDatasources() == null) continue;
+            current.getDatasources().forEach(datasourceName -> datasourceReleases.computeIfAbsent(datasourceName, key -> new ArrayList<>()).add(drop));
+        }
+        for (Datasource current : existingDatasources.values()) {
+            if (desiredDatasources.containsKey(current.getName()) || referencedDatasources.contains(current.getName())) continue;
+            plan.add(Type.DROP_DATASOURCE, current.getName(), null, datasourceReleases.getOrDefault(current.getName(), List.of()),
+                    () -> datasourcesService.dropAsync(current.getName()));
+        }
+        return plan.build();
+    }
+
+    /**
+     * Collects the actions of a plan, numbering them in the order they are added.
+     */
+    private static final class PlanBuilder {
+
+        private final List<ReconcileAction> actions = new ArrayList<>();
+
+        int add(Type type, String target, String detail, List<Integer> dependencies, Supplier<CompletableFuture<?>> task) {
+            int index = actions.size();
+            actions.add(new ReconcileAction(index, type, target, detail, dependencies, task));
+            return index;
+        }
+
+        ReconcilePlan build() {
+            return new ReconcilePlan(actions);
+        }
+    }
+
+    /**
+     * Runs the actions of a plan in dependency order with a bounded number in flight. Actions that
+     * complete synchronously, such as skipped ones, are handled in a loop rather than by recursion.
+     */
+    private static final class PlanRun {
+
+        private final List<ReconcileAction> actions;
+        private final int concurrency;
+        private final int[] pendingDependencies;
+        private final List<List<Integer>> dependents = new ArrayList<>();
+        private final List<BatchItemResult<Void>> items;
+        private final Deque<Integer> ready = new ArrayDeque<>();
+        private final CompletableFuture<BatchResult<Void>> result = new CompletableFuture<>();
+        private final long startedAt = System.nanoTime();
+        private int inFlight;
+        private int remaining;
+
+        PlanRun(List<ReconcileAction> actions, int concurrency) {
+            this.actions = actions;
+            this.concurrency = Math.max(1, concurrency);
+            this.pendingDependencies = new int[actions.size()];
+            this.items = new ArrayList<>(Collections.nCopies(actions.size(), null));
+            this.remaining = actions.size();
+            actions.forEach(action -> dependents.add(new ArrayList<>()));
+            for (ReconcileAction action : actions) {
+                pendingDependencies[action.getIndex()] = action.getDependencies().size();
+                action.getDependencies().forEach(dependency -> dependents.get(dependency).add(action.getIndex()));
+                if (action.getDependencies().isEmpty()) ready.add(action.getIndex());
+            }
+        }
+
+        CompletableFuture<BatchResult<Void>> start() {
+            if (actions.isEmpty()) result.complete(new BatchResult<>(List.of(), Duration.ZERO));
+            else pump();
+            return result;
+        }
+
+        private void pump() {
+            while (true) {
+                ReconcileAction action;
+                synchronized (this) {
+                    if (ready.isEmpty() || inFlight >= concurrency) return;
+                    action = actions.get(ready.poll());
+                    inFlight++;
+                }
+                long actionStartedAt = System.nanoTime();
+                Throwable skipped = failedDependency(action);
+                if (skipped != null) {
+                    finish(action, skipped, actionStartedAt);
+                    continue;
+                }
+                log.debug("Reconcile: {}", action.describe());
+                CompletableFuture<?> future;
+                try {
+                    future = action.run();
+                } catch (RuntimeException e) {
+                    future = CompletableFuture.failedFuture(e);
+                }
+                if (future.isDone()) {
+                    finish(action, errorOf(future), actionStartedAt);
+                    continue;
+                }
+                future.whenComplete((value, throwable) -> {
+                    finish(action, throwable == null ? null : Utils.unwrap(throwable), actionStartedAt);
+                    pump();
+                });
+            }
+        }
+
+        private synchronized Throwable failedDependency(ReconcileAction action) {
+            for (int dependency : action.getDependencies()) {
+                if (!items.get(dependency).isSuccess()) {
+                    return new Exception("skipped because " + actions.get(dependency).describe() + " failed");
+                }
+            }
+            return null;
+        }
+
+        private void finish(ReconcileAction action, Throwable error, long actionStartedAt) {
+            if (error != null) log.warn("Reconcile: {} failed: {}", action.describe(), error.getMessage());
+            boolean done;
+            synchronized (this) {
+                items.set(action.getIndex(), new BatchItemResult<>(action.getIndex(), action.describe(), null, error,
+                        Duration.ofNanos(System.nanoTime() - actionStartedAt)));
+                inFlight--;
+                for (int dependent : dependents.get(action.getIndex())) {
+                    if (--pendingDependencies[dependent] == 0) ready.add(dependent);
+                }
+                done = --remaining == 0;
+            }
+            if (done) {
+                List<BatchItemResult<Void>> report;
+                synchronized (this) {
+                    report = new ArrayList<>(items);
+                }
+                result.complete(new BatchResult<>(report, Duration.ofNanos(System.nanoTime() - startedAt)));
+            }
+        }
+
+        private static Throwable errorOf(CompletableFuture<?> future) {
+            try {
+                future.join();
+                return null;
+            } catch (RuntimeException e) {
+                return Utils.unwrap(e);
+            }
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package com.mindsdb.services;
 
+import com.mindsdb.batch.BatchExecutor;
+import com.mindsdb.batch.BatchOptions;
+import com.mindsdb.batch.BatchResult;
 import com.mindsdb.models.Datasource;
 import com.mindsdb.utils.Constants;
 import com.mindsdb.client.RestClient;
 import com.mindsdb.models.DatabaseConfig;
 import com.mindsdb.utils.Utils;
-import kong.unirest.core.HttpResponse;
+import com.mindsdb.client.transport.TransportResponse;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing data sources.
- * Provides methods to create, retrieve, list, and delete data sources using a REST client.
+ * Provides methods to create, retrieve, list, update, and delete data sources using a REST client.
  */
 @Slf4j
 public class DatasourcesService {
@@ -34,29 +42,29 @@ public class DatasourcesService {
     public Datasource create(DatabaseConfig databaseConfig) throws Exception {
         Utils.validateDatabaseConfig(databaseConfig);
         String postBody = databaseConfig.toString();
-        HttpResponse<String> httpResponse = restClient.sendPostRequest(Constants.CREATE_DATASOURCE_ENDPOINT, postBody);
+        TransportResponse<String> httpResponse = restClient.sendPostRequest(Constants.CREATE_DATASOURCE_ENDPOINT, postBody);
         log.debug("Response code - {}, {} created", httpResponse.getStatus(), databaseConfig.getName());
-        return Constants.gson.fromJson(databaseConfig.toString(), Datasource.class);
+        restClient.getMetadataCache().invalidateDatasource(databaseConfig.getName());
+        return Constants.gson.fromJson(postBody, Datasource.class);
     }
 
     /**
      * Creates a new data source with the given database configuration, with an option to replace an existing data source.
      *
      * @param databaseConfig the configuration of the database to create a data source for
-     * @param replace       if true, replaces the existing data source with the same name
+     * @param replace       if true, replaces the existing data source with the same name, which must exist
      * @return the created Datasource object
-     * @throws Exception if an error occurs during the creation process
+     * @throws Exception if an error occurs during the creation process, such as
+     *                   {@link com.mindsdb.exception.ObjectNotFoundException} when there is nothing to replace
      */
     public Datasource create(DatabaseConfig databaseConfig, boolean replace) throws Exception {
         Utils.validateDatabaseConfig(databaseConfig);
-        if(replace){
-            get(databaseConfig.getName());
-            drop(databaseConfig.getName());
-        }
+        if(replace) drop(databaseConfig.getName());
         String postBody = databaseConfig.toString();
-        HttpResponse<String> httpResponse = restClient.sendPostRequest(Constants.CREATE_DATASOURCE_ENDPOINT, postBody);
+        TransportResponse<String> httpResponse = restClient.sendPostRequest(Constants.CREATE_DATASOURCE_ENDPOINT, postBody);
         log.debug("Response code - {}, {} created", httpResponse.getStatus(), databaseConfig.getName());
-        return Constants.gson.fromJson(databaseConfig.toString(), Datasource.class);
+        restClient.getMetadataCache().invalidateDatasource(databaseConfig.getName());
+        return Constants.gson.fromJson(postBody, Datasource.class);
     }
 
     /**
@@ -66,11 +74,25 @@ public class DatasourcesService {
      * @throws Exception if an error occurs during the retrieval process
      */
     public Optional<List<Datasource>> list() throws Exception {
-        HttpResponse<String> listHttpResponse = restClient.sendGetRequest(Constants.LIST_DATASOURCE_ENDPOINT);
-        List<Datasource> datasources = Utils.parseStringToDatasourceList(listHttpResponse.getBody());
+        List<Datasource> datasources = restClient.sendConditionalGetRequest(Constants.LIST_DATASOURCE_ENDPOINT, Utils::parseStringToDatasourceList);
+        datasources.forEach(restClient.getMetadataCache()::putDatasource);
         return Optional.of(datasources);
     }
 
+    /**
+     * Retrieves all data sources as a lazy stream that decodes the response while it is being read,
+     * so memory use stays flat however many data sources the account has. The connection is released
+     * when the stream has been consumed completely or is closed; close it, e.g. with
+     * try-with-resources, when not consuming it to the end.
+     *
+     * @return a stream of Datasource objects in the order returned by the server
+     * @throws Exception if an error occurs while sending the request
+     */
+    public Stream<Datasource> stream() throws Exception {
+        return Utils.streamJsonArray(restClient.sendGetRequestForStream(Constants.LIST_DATASOURCE_ENDPOINT), Datasource.class)
+                .peek(restClient.getMetadataCache()::putDatasource);
+    }
+
     /**
      * Retrieves a specific data source by name.
      *
@@ -79,13 +101,43 @@ public class DatasourcesService {
      * @throws Exception if an error occurs during the retrieval process
      */
     public Optional<Datasource> get(String datasourceName) throws Exception {
+        Optional<Datasource> cachedDatasource = restClient.getMetadataCache().getDatasource(datasourceName);
+        if(cachedDatasource.isPresent()) return cachedDatasource;
         String endPoint = String.format(Constants.GET_DATASOURCE_ENDPOINT, datasourceName);
-        HttpResponse<String> httpResponse = restClient.sendGetRequest(endPoint);
-        log.debug(Constants.SUCCESS_REQUEST_RESPONSE_STATUS_LOG, httpResponse.getStatus());
-        Datasource datasource = Utils.parseStringToDatasource(httpResponse.getBody());
+        Datasource datasource = restClient.sendConditionalGetRequest(endPoint, Utils::parseStringToDatasource);
+        restClient.getMetadataCache().putDatasource(datasource);
         return Optional.of(datasource);
     }
 
+    /**
+     * Updates a data source in place to match the given configuration. The configuration is compared
+     * with the current state, read from the cache when fresh, and only the changed fields are sent
+     * in a PATCH; of the connection data only the changed keys are sent. No request is made when
+     * nothing changed. Unlike {@link #create(DatabaseConfig, boolean)}, the data source is never
+     * dropped, so the minds using it keep it throughout.
+     *
+     * @param databaseConfig the desired configuration of the data source
+     * @return the updated Datasource object
+     * @throws Exception if the data source does not exist, the engine would change, or the update fails
+     */
+    public Datasource update(DatabaseConfig databaseConfig) throws Exception {
+        Utils.validateDatabaseConfig(databaseConfig);
+        Datasource current = get(databaseConfig.getName()).orElseThrow();
+        String patchBody = Utils.generateDatasourceDeltaBody(current, databaseConfig);
+        if(patchBody == null) {
+            log.debug("{} is up to date, nothing to update", databaseConfig.getName());
+            return current;
+        }
+        String endPoint = String.format(Constants.UPDATE_DATASOURCE_ENDPOINT, databaseConfig.getName());
+        try {
+            TransportResponse<String> httpResponse = restClient.sendPatchRequest(endPoint, patchBody);
+            log.debug("Response code - {}, {} updated", httpResponse.getStatus(), databaseConfig.getName());
+        } finally {
+            restClient.getMetadataCache().invalidateDatasource(databaseConfig.getName());
+        }
+        return updated(current, databaseConfig);
+    }
+
     /**
      * Deletes a specific data source by name.
      *
@@ -94,8 +146,205 @@ public class DatasourcesService {
      */
     public void drop(String datasourceName) throws Exception {
         String endPoint = String.format(Constants.DELETE_DATASOURCE_ENDPOINT, datasourceName);
-        HttpResponse<String> httpResponse = restClient.sendDeleteRequest(endPoint);
-        log.debug("Response code - {}, {} deleted", httpResponse.getStatus(), datasourceName);
+        try {
+            TransportResponse<String> httpResponse = restClient.sendDeleteRequest(endPoint);
+            log.debug("Response code - {}, {} deleted", httpResponse.getStatus(), datasourceName);
+        } finally {
+            restClient.getMetadataCache().invalidateDatasource(datasourceName);
+        }
+    }
+
+    /**
+     * Returns the state of a data source after an update from its current to its desired state.
+     */
+    private static Datasource updated(Datasource current, DatabaseConfig desired) {
+        List<String> tables = desired.getTables() != null ? desired.getTables() : current.getTables();
+        return new Datasource(desired.getName(), desired.getEngine(), desired.getDescription(),
+                desired.getConnection_data().deepCopy(), tables == null ? null : new ArrayList<>(tables));
+    }
+
+    /**
+     * Asynchronously creates a new data source with the given database configuration.
+     *
+     * @param databaseConfig the configuration of the database to create a data source for
+     * @return a future completed with the created Datasource object
+     */
+    public CompletableFuture<Datasource> createAsync(DatabaseConfig databaseConfig) {
+        return createAsync(databaseConfig, false);
+    }
+
+    /**
+     * Asynchronously creates a new data source with the given database configuration, with an option to replace an existing data source.
+     *
+     * @param databaseConfig the configuration of the database to create a data source for
+     * @param replace       if true, replaces the existing data source with the same name
+     * @return a future completed with the created Datasource object, or exceptionally if the creation fails
+     */
+    public CompletableFuture<Datasource> createAsync(DatabaseConfig databaseConfig, boolean replace) {
+        try {
+            Utils.validateDatabaseConfig(databaseConfig);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Void> prepared = CompletableFuture.completedFuture(null);
+        if(replace){
+            prepared = dropAsync(databaseConfig.getName());
+        }
+        String postBody = databaseConfig.toString();
+        return prepared
+                .thenCompose(ignored -> restClient.sendPostRequestAsync(Constants.CREATE_DATASOURCE_ENDPOINT, postBody))
+                .thenApply(httpResponse -> {
+                    log.debug("Response code - {}, {} created", httpResponse.getStatus(), databaseConfig.getName());
+                    restClient.getMetadataCache().invalidateDatasource(databaseConfig.getName());
+                    return Constants.gson.fromJson(postBody, Datasource.class);
+                });
+    }
+
+    /**
+     * Asynchronously retrieves a list of all data sources.
+     *
+     * @return a future completed with an Optional containing the list of Datasource objects
+     */
+    public CompletableFuture<Optional<List<Datasource>>> listAsync() {
+        return restClient.sendConditionalGetRequestAsync(Constants.LIST_DATASOURCE_ENDPOINT, Utils::parseStringToDatasourceList).thenApply(datasources -> {
+            datasources.forEach(restClient.getMetadataCache()::putDatasource);
+            return Optional.of(datasources);
+        });
+    }
+
+    /**
+     * Asynchronously retrieves a specific data source by name.
+     *
+     * @param datasourceName the name of the data source to retrieve
+     * @return a future completed with an Optional containing the Datasource object, or exceptionally with
+     *         {@link com.mindsdb.exception.ObjectNotFoundException} if the data source does not exist
+     */
+    public CompletableFuture<Optional<Datasource>> getAsync(String datasourceName) {
+        Optional<Datasource> cachedDatasource = restClient.getMetadataCache().getDatasource(datasourceName);
+        if(cachedDatasource.isPresent()) return CompletableFuture.completedFuture(cachedDatasource);
+        String endPoint = String.format(Constants.GET_DATASOURCE_ENDPOINT, datasourceName);
+        return restClient.sendConditionalGetRequestAsync(endPoint, Utils::parseStringToDatasource).thenApply(datasource -> {
+            restClient.getMetadataCache().putDatasource(datasource);
+            return Optional.of(datasource);
+        });
+    }
+
+    /**
+     * Asynchronously updates a data source in place to match the given configuration, sending only
+     * the changed fields and nothing at all when the data source is up to date.
+     *
+     * @param databaseConfig the desired configuration of the data source
+     * @return a future completed with the updated Datasource object, or exceptionally if the update fails
+     */
+    public CompletableFuture<Datasource> updateAsync(DatabaseConfig databaseConfig) {
+        try {
+            Utils.validateDatabaseConfig(databaseConfig);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String endPoint = String.format(Constants.UPDATE_DATASOURCE_ENDPOINT, databaseConfig.getName());
+        return getAsync(databaseConfig.getName()).thenCompose(cachedOrRead -> {
+            Datasource current = cachedOrRead.orElseThrow();
+            String patchBody;
+            try {
+                patchBody = Utils.generateDatasourceDeltaBody(current, databaseConfig);
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            if(patchBody == null) {
+                log.debug("{} is up to date, nothing to update", databaseConfig.getName());
+                return CompletableFuture.completedFuture(current);
+            }
+            return restClient.sendPatchRequestAsync(endPoint, patchBody)
+                    .whenComplete((httpResponse, throwable) -> restClient.getMetadataCache().invalidateDatasource(databaseConfig.getName()))
+                    .thenApply(httpResponse -> {
+                        log.debug("Response code - {}, {} updated", httpResponse.getStatus(), databaseConfig.getName());
+                        return updated(current, databaseConfig);
+                    });
+        });
+    }
+
+    /**
+     * Asynchronously deletes a specific data source by name.
+     *
+     * @param datasourceName the name of the data source to delete
+     * @return a future completed once the data source has been deleted
+     */
+    public CompletableFuture<Void> dropAsync(String datasourceName) {
+        String endPoint = String.format(Constants.DELETE_DATASOURCE_ENDPOINT, datasourceName);
+        return restClient.sendDeleteRequestAsync(endPoint)
+                .whenComplete((httpResponse, throwable) -> restClient.getMetadataCache().invalidateDatasource(datasourceName))
+                .thenAccept(httpResponse -> log.debug("Response code - {}, {} deleted", httpResponse.getStatus(), datasourceName));
+    }
+
+    /**
+     * Creates many data sources with bounded concurrency. Every configuration is attempted and the
+     * outcome of each is reported, so one failure does not abort the rest.
+     *
+     * @param databaseConfigs the configurations of the data sources to create
+     * @param options         the concurrency limit and whether existing data sources are replaced
+     * @return the per-item report, in input order
+     */
+    public BatchResult<Datasource> createAll(Collection<DatabaseConfig> databaseConfigs, BatchOptions options) {
+        return createAllAsync(databaseConfigs, options).join();
+    }
+
+    /**
+     * Asynchronously creates many data sources with bounded concurrency.
+     *
+     * @param databaseConfigs the configurations of the data sources to create
+     * @param options         the concurrency limit and whether existing data sources are replaced
+     * @return a future completed with the per-item report, in input order
+     */
+    public CompletableFuture<BatchResult<Datasource>> createAllAsync(Collection<DatabaseConfig> databaseConfigs, BatchOptions options) {
+        return BatchExecutor.run(List.copyOf(databaseConfigs), DatabaseConfig::getName,
+                databaseConfig -> createAsync(databaseConfig, options.isReplace()), options.getConcurrency());
+    }
+
+    /**
+     * Updates many data sources in place with bounded concurrency, e.g. to rotate credentials.
+     * Only changed fields are sent and data sources that are up to date are skipped. Every
+     * configuration is attempted and the outcome of each is reported.
+     *
+     * @param databaseConfigs the desired configurations of the data sources
+     * @param options         the concurrency limit
+     * @return the per-item report, in input order
+     */
+    public BatchResult<Datasource> updateAll(Collection<DatabaseConfig> databaseConfigs, BatchOptions options) {
+        return updateAllAsync(databaseConfigs, options).join();
+    }
+
+    /**
+     * Asynchronously updates many data sources in place with bounded concurrency.
+     *
+     * @param databaseConfigs the desired configurations of the data sources
+     * @param options         the concurrency limit
+     * @return a future completed with the per-item report, in input order
+     */
+    public CompletableFuture<BatchResult<Datasource>> updateAllAsync(Collection<DatabaseConfig> databaseConfigs, BatchOptions options) {
+        return BatchExecutor.run(List.copyOf(databaseConfigs), DatabaseConfig::getName, this::updateAsync, options.getConcurrency());
+    }
+
+    /**
+     * Deletes many data sources with bounded concurrency, reporting the outcome of each.
+     *
+     * @param datasourceNames the names of the data sources to delete
+     * @param options         the concurrency limit
+     * @return the per-item report, in input order
+     */
+    public BatchResult<Void> dropAll(Collection<String> datasourceNames, BatchOptions options) {
+        return dropAllAsync(datasourceNames, options).join();
+    }
+
+    /**
+     * Asynchronously deletes many data sources with bounded concurrency.
+     *
+     * @param datasourceNames the names of the data sources to delete
+     * @param options         the concurrency limit
+     * @return a future completed with the per-item report, in input order
+     */
+    public CompletableFuture<BatchResult<Void>> dropAllAsync(Collection<String> datasourceNames, BatchOptions options) {
+        return BatchExecutor.run(List.copyOf(datasourceNames), Function.identity(), this::dropAsync, options.getConcurrency());
     }
 
 }
@@ -1,15 +1,18 @@
 package com.mindsdb.services;
 
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.mindsdb.models.Mind;
 import com.mindsdb.utils.Constants;
 import com.mindsdb.client.RestClient;
 import com.mindsdb.utils.Utils;
-import kong.unirest.core.HttpResponse;
+import com.mindsdb.client.transport.TransportResponse;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing Minds.
@@ -72,14 +75,11 @@ public class MindsService {
      * @throws Exception if an error occurs during the creation process
      */
     private Mind create(Mind mind) throws Exception {
-        Utils.validateMind(mind);
-        if(mind.getPrompt_template() != null) mind.getParameters().addProperty(Constants.PROMPT_TEMPLATE, mind.getPrompt_template());
-        if(mind.getParameters() != null && !mind.getParameters().has(Constants.PROMPT_TEMPLATE)) mind.getParameters().addProperty(Constants.PROMPT_TEMPLATE, Constants.DEFAULT_PROMPT_TEMPLATE);
-        String postBody = Constants.gson.toJson(mind);
+        String postBody = generateCreateBody(mind);
         String endPoint = String.format(Constants.CREATE_MIND_ENDPOINT, Constants.MINDS_PROJECT);
-        HttpResponse<String> httpResponse = restClient.sendPostRequest(endPoint, postBody);
+        TransportResponse<String> httpResponse = restClient.sendPostRequest(endPoint, postBody);
         log.debug("Response code - {}, {} created", httpResponse.getStatus(), mind.getName());
-        return get(mind.getName()).get();
+        return toCreatedMind(mind, httpResponse.getBody());
     }
 
     /**
@@ -90,12 +90,26 @@ public class MindsService {
      */
     public Optional<List<Mind>> list() throws Exception {
         String endPoint = String.format(Constants.LIST_MIND_ENDPOINT, Constants.MINDS_PROJECT);
-        HttpResponse<String> listHttpResponse = restClient.sendGetRequest(endPoint);
-        List<Mind> mindList = Utils.parseStringToMindList(listHttpResponse.getBody());
-        mindList.forEach(mind -> mind.setRestClient(restClient));
+        List<Mind> mindList = restClient.sendConditionalGetRequest(endPoint, Utils::parseStringToMindList);
+        mindList.forEach(this::attach);
         return Optional.of(mindList);
     }
 
+    /**
+     * Retrieves all Minds as a lazy stream that decodes the response while it is being read, so
+     * memory use stays flat however many Minds the account has. The connection is released when
+     * the stream has been consumed completely or is closed; close it, e.g. with try-with-resources,
+     * when not consuming it to the end.
+     *
+     * @return a stream of Mind objects in the order returned by the server
+     * @throws Exception if an error occurs while sending the request
+     */
+    public Stream<Mind> stream() throws Exception {
+        String endPoint = String.format(Constants.LIST_MIND_ENDPOINT, Constants.MINDS_PROJECT);
+        return Utils.streamJsonArray(restClient.sendGetRequestForStream(endPoint), Mind.class)
+                .peek(this::attach);
+    }
+
     /**
      * Retrieves a specific Mind by name.
      *
@@ -105,10 +119,14 @@ public class MindsService {
      */
     public Optional<Mind> get(String mindName) throws Exception {
         Utils.validateMindName(mindName);
+        Optional<Mind> cachedMind = restClient.getMetadataCache().getMind(mindName);
+        if(cachedMind.isPresent()) {
+            cachedMind.get().setRestClient(restClient);
+            return cachedMind;
+        }
         String endPoint = String.format(Constants.GET_MIND_ENDPOINT, Constants.MINDS_PROJECT, mindName);
-        HttpResponse<String> httpResponse = restClient.sendGetRequest(endPoint);
-        Mind resMind = Utils.parseStringToMind(httpResponse.getBody());
-        resMind.setRestClient(restClient);
+        Mind resMind = restClient.sendConditionalGetRequest(endPoint, Utils::parseStringToMind);
+        attach(resMind);
         return Optional.of(resMind);
     }
 
@@ -121,7 +139,175 @@ public class MindsService {
     public void drop(String mindName) throws Exception {
         Utils.validateMindName(mindName);
         String endPoint = String.format(Constants.DELETE_MIND_ENDPOINT, Constants.MINDS_PROJECT, mindName);
-        HttpResponse<String> httpResponse = restClient.sendDeleteRequest(endPoint);
-        log.debug("Response code - {}, {} deleted", httpResponse.getStatus(), mindName);
+        try {
+            TransportResponse<String> httpResponse = restClient.sendDeleteRequest(endPoint);
+            log.debug("Response code - {}, {} deleted", httpResponse.getStatus(), mindName);
+        } finally {
+            invalidateCaches(mindName);
+        }
+    }
+
+    /**
+     * Asynchronously creates a new Mind with the specified name.
+     *
+     * @param name the name of the Mind to be created
+     * @return a future completed with the created Mind object
+     */
+    public CompletableFuture<Mind> createAsync(String name) {
+        return createAsync(name, null, null, null, null, null);
+    }
+
+    /**
+     * Asynchronously creates a new Mind with the specified name and associated data sources.
+     *
+     * @param name        the name of the Mind to be created
+     * @param datasources a list of data sources to associate with the Mind
+     * @return a future completed with the created Mind object
+     */
+    public CompletableFuture<Mind> createAsync(String name, List<String> datasources) {
+        return createAsync(name, datasources, null, null, null, null);
+    }
+
+    /**
+     * Asynchronously creates a new Mind with the specified parameters.
+     *
+     * @param name          the name of the Mind to be created
+     * @param datasources   a list of data sources to associate with the Mind
+     * @param modelName     the name of the model to be used
+     * @param parameters    JSON object containing additional parameters for the Mind
+     * @param provider      the provider to be used
+     * @param promptTemplate the template for the prompt
+     * @return a future completed with the created Mind object, or exceptionally if the creation fails
+     */
+    public CompletableFuture<Mind> createAsync(String name, List<String> datasources, String modelName, JsonObject parameters, String provider, String promptTemplate) {
+        Mind mind;
+        String postBody;
+        try {
+            mind = Utils.createMindFromParams(name, datasources, modelName, parameters, provider, promptTemplate);
+            postBody = generateCreateBody(mind);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String endPoint = String.format(Constants.CREATE_MIND_ENDPOINT, Constants.MINDS_PROJECT);
+        return restClient.sendPostRequestAsync(endPoint, postBody).thenApply(httpResponse -> {
+            log.debug("Response code - {}, {} created", httpResponse.getStatus(), mind.getName());
+            return toCreatedMind(mind, httpResponse.getBody());
+        });
+    }
+
+    /**
+     * Asynchronously retrieves a list of all Minds.
+     *
+     * @return a future completed with an Optional containing the list of Mind objects
+     */
+    public CompletableFuture<Optional<List<Mind>>> listAsync() {
+        String endPoint = String.format(Constants.LIST_MIND_ENDPOINT, Constants.MINDS_PROJECT);
+        return restClient.sendConditionalGetRequestAsync(endPoint, Utils::parseStringToMindList).thenApply(mindList -> {
+            mindList.forEach(this::attach);
+            return Optional.of(mindList);
+        });
+    }
+
+    /**
+     * Asynchronously retrieves a specific Mind by name.
+     *
+     * @param mindName the name of the Mind to retrieve
+     * @return a future completed with an Optional containing the Mind object, or exceptionally with
+     *         {@link com.mindsdb.exception.ObjectNotFoundException} if the Mind does not exist
+     */
+    public CompletableFuture<Optional<Mind>> getAsync(String mindName) {
+        try {
+            Utils.validateMindName(mindName);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Optional<Mind> cachedMind = restClient.getMetadataCache().getMind(mindName);
+        if(cachedMind.isPresent()) {
+            cachedMind.get().setRestClient(restClient);
+            return CompletableFuture.completedFuture(cachedMind);
+        }
+        String endPoint = String.format(Constants.GET_MIND_ENDPOINT, Constants.MINDS_PROJECT, mindName);
+        return restClient.sendConditionalGetRequestAsync(endPoint, Utils::parseStringToMind).thenApply(resMind -> {
+            attach(resMind);
+            return Optional.of(resMind);
+        });
+    }
+
+    /**
+     * Asynchronously deletes a specific Mind by name.
+     *
+     * @param mindName the name of the Mind to delete
+     * @return a future completed once the Mind has been deleted
+     */
+    public CompletableFuture<Void> dropAsync(String mindName) {
+        try {
+            Utils.validateMindName(mindName);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String endPoint = String.format(Constants.DELETE_MIND_ENDPOINT, Constants.MINDS_PROJECT, mindName);
+        return restClient.sendDeleteRequestAsync(endPoint)
+                .whenComplete((httpResponse, throwable) -> invalidateCaches(mindName))
+                .thenAccept(httpResponse -> log.debug("Response code - {}, {} deleted", httpResponse.getStatus(), mindName));
+    }
+
+    /**
+     * Builds the Mind returned by a creation without reading it back from the server.
+     * The POST response is used when it describes the created Mind, otherwise the submitted
+     * payload is. Fields only the server knows, such as {@code created_at}, are fetched lazily
+     * on first access.
+     *
+     * @param submitted    the Mind sent in the creation request
+     * @param responseBody the body of the creation response
+     * @return the created Mind bound to this service's REST client
+     */
+    private Mind toCreatedMind(Mind submitted, String responseBody) {
+        Mind created = submitted;
+        if(responseBody != null && !responseBody.isBlank()) {
+            try {
+                Mind parsed = Utils.parseStringToMind(responseBody);
+                if(parsed != null && submitted.getName().equals(parsed.getName())) created = parsed;
+            } catch (JsonParseException e) {
+                log.debug("Creation response of {} is not a mind, using the submitted payload", submitted.getName());
+            }
+        }
+        created.setRestClient(restClient);
+        if(created.getCreated_at() == null) created.markForLazyRefresh();
+        invalidateCaches(created.getName());
+        return created;
+    }
+
+    /**
+     * Binds a Mind read from the server to this service's REST client and caches it.
+     *
+     * @param mind the Mind parsed from a response
+     */
+    private void attach(Mind mind) {
+        mind.setRestClient(restClient);
+        restClient.getMetadataCache().putMind(mind);
+    }
+
+    /**
+     * Drops the cached metadata and completion answers of a mind that was created, replaced or dropped.
+     *
+     * @param mindName the name of the mind
+     */
+    private void invalidateCaches(String mindName) {
+        restClient.getMetadataCache().invalidateMind(mindName);
+        restClient.getCompletionCache().invalidateMind(mindName);
+    }
+
+    /**
+     * Validates the Mind, fills in its prompt template and serialises it into a creation request body.
+     *
+     * @param mind the Mind object to be created
+     * @return the JSON body of the creation request
+     * @throws Exception if the Mind is invalid
+     */
+    private String generateCreateBody(Mind mind) throws Exception {
+        Utils.validateMind(mind);
+        if(mind.getPrompt_template() != null) mind.getParameters().addProperty(Constants.PROMPT_TEMPLATE, mind.getPrompt_template());
+        if(mind.getParameters() != null && !mind.getParameters().has(Constants.PROMPT_TEMPLATE)) mind.getParameters().addProperty(Constants.PROMPT_TEMPLATE, Constants.DEFAULT_PROMPT_TEMPLATE);
+        return Constants.gson.toJson(mind);
     }
 }
@@ -1,6 +1,10 @@
 package com.mindsdb.utils;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mindsdb.models.ModelTypeAdapters;
+
+import java.time.Duration;
 
 public class Constants {
 
@@ -8,6 +12,15 @@ public class Constants {
     public static final String MINDS_CLOUD_ENDPOINT = "https://mdb.ai" + MINDS_API_ENDPOINT;
     public static final String AUTHORIZATION_HEADER = "Authorization";
     public static final String CONTEXT_TYPE_HEADER = "Content-Type";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final String ETAG_HEADER = "ETag";
+    public static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    public static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    public static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+    public static final String RATE_LIMIT_REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RATE_LIMIT_RESET_HEADER = "RateLimit-Reset";
+    public static final String X_RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String X_RATE_LIMIT_RESET_HEADER = "X-RateLimit-Reset";
     public static final String APPLICATION_JSON = "application/json";
     public static final String MINDS_PROJECT = "mindsdb";
     public static final String PROJECT_NAME_ROUTE_PARAM = "projectName";
@@ -18,7 +31,7 @@ public class Constants {
     public static final String ADD_DATASOURCE_CHECK_CONN_BODY_PARAM = "check_connection";
     public static final String PROMPT_TEMPLATE = "prompt_template";
     public static final String DEFAULT_PROMPT_TEMPLATE = "Use your database tools to answer the user's question: {{question}}";
-    public static final Gson gson = new Gson();
+    public static final Gson gson = new GsonBuilder().registerTypeAdapterFactory(ModelTypeAdapters.FACTORY).create();
 
     public static final String LIST_DATASOURCE_ENDPOINT = "/datasources";
     public static final String CREATE_DATASOURCE_ENDPOINT = "/datasources";
@@ -34,6 +47,8 @@ public class Constants {
     public static final String UPDATE_MIND_ENDPOINT = LIST_MIND_ENDPOINT + "/%s";
     public static final String ADD_DATASOURCE_MIND_ENDPOINT = LIST_MIND_ENDPOINT + "/%s" + CREATE_DATASOURCE_ENDPOINT;
     public static final String DEL_DATASOURCE_MIND_ENDPOINT = LIST_MIND_ENDPOINT + "/%s" + CREATE_DATASOURCE_ENDPOINT + "/%s";
+    public static final String COMPLETION_ROUTE = "/chat/completions";
+    public static final Duration SNAPSHOT_MAX_AGE = Duration.ofDays(1);
 
     public static final String FAILED_REQUEST_ERROR_LOG = "Oh No! Status - {}. Response body - {}";
     public static final String FAILED_REQUEST_RESPONSE_BODY_LOG = "Response body: {}";
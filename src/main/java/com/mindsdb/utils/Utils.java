@@ -2,13 +2,33 @@ package com.mindsdb.utils;
 
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.mindsdb.models.DatabaseConfig;
 import com.mindsdb.models.Datasource;
 import com.mindsdb.models.Mind;
+import com.mindsdb.models.ModelTypeAdapters;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class providing static methods for validation and JSON creation
@@ -16,6 +36,13 @@ import java.util.List;
  */
 public class Utils {
 
+    private static final Map<String, String> ROUTE_PLACEHOLDERS = Map.of(
+            "projects", "{project}",
+            "minds", "{mind}",
+            "datasources", "{datasource}");
+
+    private static final TypeAdapter<Datasource> DATASOURCE_UPDATE_BODY = ModelTypeAdapters.datasourceUpdateBody(Constants.gson);
+
     /**
      * Creates a JSON representation of a mind body for API requests.
      *
@@ -116,19 +143,47 @@ public class Utils {
      * @return a JSON string representing the update body for the data source.
      */
     public static String generateDatasourceUpdateBody(Datasource datasource) {
-        Gson gson = new GsonBuilder()
-                .setExclusionStrategies(new ExclusionStrategy() {
-                    @Override
-                    public boolean shouldSkipField(FieldAttributes f) {
-                        return f.getName().equals("name") || f.getName().equals("engine");
-                    }
+        StringWriter json = new StringWriter();
+        try (JsonWriter writer = Constants.gson.newJsonWriter(json)) {
+            DATASOURCE_UPDATE_BODY.write(writer, datasource);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
 
-                    @Override
-                    public boolean shouldSkipClass(Class<?> clazz) {
-                        return false;
-                    }
-                }).create();
-        return gson.toJson(datasource);
+    /**
+     * Generates a JSON body that updates a data source from its current to its desired state. Only
+     * changed fields are included: {@code description}, {@code tables} if the desired tables are
+     * set, and of {@code connection_data} only the keys that changed, with removed keys set to
+     * {@code null}.
+     *
+     * @param current the current state of the data source.
+     * @param desired the desired state of the data source.
+     * @return a JSON string with the changed fields, or {@code null} if nothing changed.
+     * @throws Exception if the desired state changes the engine, which cannot be updated in place.
+     */
+    public static String generateDatasourceDeltaBody(DatabaseConfig current, DatabaseConfig desired) throws Exception {
+        if(!desired.getEngine().equals(current.getEngine())) {
+            throw new Exception("datasource engine cannot be updated, recreate " + desired.getName() + " to change it");
+        }
+        JsonObject delta = new JsonObject();
+        if(!desired.getDescription().equals(current.getDescription())) delta.addProperty("description", desired.getDescription());
+        JsonObject connectionData = new JsonObject();
+        JsonObject currentConnectionData = current.getConnection_data() == null ? new JsonObject() : current.getConnection_data();
+        for (Map.Entry<String, JsonElement> entry : desired.getConnection_data().entrySet()) {
+            if(!entry.getValue().equals(currentConnectionData.get(entry.getKey()))) connectionData.add(entry.getKey(), entry.getValue().deepCopy());
+        }
+        for (String key : currentConnectionData.keySet()) {
+            if(!desired.getConnection_data().has(key)) connectionData.add(key, JsonNull.INSTANCE);
+        }
+        if(!connectionData.isEmpty()) delta.add("connection_data", connectionData);
+        if(desired.getTables() != null && !desired.getTables().equals(current.getTables())) {
+            JsonArray tables = new JsonArray();
+            desired.getTables().forEach(tables::add);
+            delta.add("tables", tables);
+        }
+        return delta.isEmpty() ? null : delta.toString();
     }
 
     /**
@@ -158,8 +213,7 @@ public class Utils {
      * @return                  A List of Mind objects parsed from the provided JSON string.
      */
     public static List<Mind> parseStringToMindList(String mindListJsonString){
-        TypeToken<List<Mind>> typeToken = new TypeToken<List<Mind>>(){};
-        return Constants.gson.fromJson(mindListJsonString, typeToken.getType());
+        return Constants.gson.fromJson(mindListJsonString, TypeToken.getParameterized(List.class, Mind.class).getType());
     }
 
     /**
@@ -169,8 +223,80 @@ public class Utils {
      * @return                A List of Datasource objects parsed from the provided JSON string.
      */
     public static List<Datasource> parseStringToDatasourceList(String dsListJsonString){
-        TypeToken<List<Datasource>> typeToken = new TypeToken<List<Datasource>>(){};
-        return Constants.gson.fromJson(dsListJsonString, typeToken.getType());
+        return Constants.gson.fromJson(dsListJsonString, TypeToken.getParameterized(List.class, Datasource.class).getType());
+    }
+
+    /**
+     * Decodes a JSON array from a stream one element at a time. Only the element being decoded is
+     * held in memory, so memory use does not grow with the length of the array. The input is
+     * closed when the array has been read completely or when the returned stream is closed.
+     *
+     * @param inputStream the stream containing a JSON array
+     * @param elementType the class of the array elements
+     * @param <T>         the type of the array elements
+     * @return a lazy, sequential stream of the decoded elements
+     * @throws IOException if the stream does not start with a JSON array
+     */
+    public static <T> Stream<T> streamJsonArray(InputStream inputStream, Class<T> elementType) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        try {
+            reader.beginArray();
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+        Iterator<T> elements = new Iterator<>() {
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (exhausted) return false;
+                try {
+                    if (reader.hasNext()) return true;
+                    reader.endArray();
+                    exhausted = true;
+                    reader.close();
+                    return false;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return Constants.gson.fromJson(reader, elementType);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Returns the number of bytes the text occupies in UTF-8, without encoding it.
+     *
+     * @param text the text to measure; {@code null} counts as empty
+     * @return the UTF-8 length in bytes
+     */
+    public static long utf8Length(CharSequence text) {
+        if (text == null) return 0;
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) length++;
+            else if (c < 0x800) length += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else length += 3;
+        }
+        return length;
     }
 
     /**
@@ -195,6 +321,80 @@ public class Utils {
         return newUri.toString();
     }
 
+    /**
+     * Strips the {@link CompletionException} and {@link ExecutionException} wrappers that
+     * {@link java.util.concurrent.CompletableFuture} adds around the failure of an asynchronous call.
+     *
+     * @param throwable the failure reported by a future
+     * @return the underlying cause
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException) && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * Cancels {@code source} when {@code derived} is cancelled. A future derived with
+     * {@code thenApply} or {@code whenComplete} does not pass its cancellation upstream, so the
+     * work it waits for would otherwise go on.
+     *
+     * @param derived the future handed to the caller
+     * @param source  the future doing the work
+     * @param <T>     the result type of the derived future
+     * @return {@code derived}
+     */
+    public static <T> CompletableFuture<T> cancelling(CompletableFuture<T> derived, CompletableFuture<?> source) {
+        derived.whenComplete((result, throwable) -> {
+            if (derived.isCancelled()) source.cancel(true);
+        });
+        return derived;
+    }
+
+    /**
+     * Parses a header holding a number of seconds, such as {@code Retry-After}.
+     *
+     * @param value the header value, possibly {@code null} or empty
+     * @return the delay, or {@code null} if the value is absent or not a number of seconds
+     */
+    public static Duration parseSeconds(String value) {
+        if (value == null || value.isBlank()) return null;
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.strip()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reduces a concrete endpoint to its route template by replacing every resource identifier
+     * with a named placeholder, e.g. {@code /projects/mindsdb/minds/test} becomes
+     * {@code /projects/{project}/minds/{mind}}. Query strings are dropped.
+     *
+     * @param endPoint the endpoint, relative to the API base URL
+     * @return the route template for the endpoint
+     */
+    public static String getRouteTemplate(String endPoint) {
+        int queryStart = endPoint.indexOf('?');
+        String path = queryStart < 0 ? endPoint : endPoint.substring(0, queryStart);
+        String[] segments = path.split("/");
+        StringBuilder route = new StringBuilder();
+        String collection = null;
+        for (String segment : segments) {
+            if (segment.isEmpty()) continue;
+            route.append('/');
+            if (collection == null) {
+                route.append(segment);
+                collection = segment;
+            } else {
+                route.append(ROUTE_PLACEHOLDERS.getOrDefault(collection, "{id}"));
+                collection = null;
+            }
+        }
+        return route.length() == 0 ? "/" : route.toString();
+    }
+
     /**
      * Creates a Mind object from the provided parameters.
      * This method utilizes the Builder pattern to construct a Mind object based on the specified attributes.
@@ -0,0 +1,36 @@
+package com.mindsdb.batch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+class BatchExecutorTest {
+
+    @Test
+    void cancelKeepsFinishedItems() {
+        Map<String, CompletableFuture<String>> started = new ConcurrentHashMap<>();
+        BatchHandle<String> handle = BatchExecutor.start(List.of("a", "b", "c", "d"), Function.identity(), input -> {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            started.put(input, future);
+            return future;
+        }, 2);
+
+        started.get("a").complete("A");
+        handle.cancel();
+        BatchResult<String> result = handle.getResult().join();
+
+        Assertions.assertEquals(Set.of("a", "b", "c"), started.keySet());
+        Assertions.assertEquals(4, result.getItems().size());
+        Assertions.assertEquals("A", result.getItems().get(0).getValue());
+        Assertions.assertTrue(result.getItems().get(1).isCancelled());
+        Assertions.assertTrue(result.getItems().get(2).isCancelled());
+        Assertions.assertTrue(result.getItems().get(3).isCancelled());
+        Assertions.assertEquals(1, result.successes().size());
+    }
+}
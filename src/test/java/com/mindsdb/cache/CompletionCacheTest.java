@@ -0,0 +1,44 @@
+package com.mindsdb.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+class CompletionCacheTest {
+
+    @Test
+    void keyedOnModelAndTemplate() {
+        CompletionCache cache = new CompletionCache(CompletionCacheConfig.builder().enabled(true).build());
+        cache.put("mind", "gpt-4o", "template", "question", "answer");
+        Assertions.assertEquals(Optional.of("answer"), cache.get("mind", "gpt-4o", "template", "question"));
+        Assertions.assertTrue(cache.get("mind", "gpt-4o-mini", "template", "question").isEmpty());
+        Assertions.assertTrue(cache.get("mind", "gpt-4o", "other", "question").isEmpty());
+        cache.invalidateMind("mind");
+        Assertions.assertTrue(cache.get("mind", "gpt-4o", "template", "question").isEmpty());
+    }
+
+    @Test
+    void storeSurvivesRestart(@TempDir Path dir) {
+        CompletionCacheConfig config = CompletionCacheConfig.builder().enabled(true).storePath(dir.resolve("completions.jsonl")).build();
+        CompletionCache first = new CompletionCache(config);
+        first.put("kept", null, null, "question", "answer");
+        first.put("dropped", null, null, "question", "answer");
+        first.invalidateMind("dropped");
+        first.close();
+
+        CompletionCache second = new CompletionCache(config);
+        Assertions.assertEquals(Optional.of("answer"), second.get("kept", null, null, "question"));
+        Assertions.assertTrue(second.get("dropped", null, null, "question").isEmpty());
+        second.close();
+    }
+
+    @Test
+    void disabledByDefault() {
+        CompletionCache cache = new CompletionCache(CompletionCacheConfig.defaults());
+        cache.put("mind", null, null, "question", "answer");
+        Assertions.assertTrue(cache.get("mind", null, null, "question").isEmpty());
+    }
+}
@@ -0,0 +1,44 @@
+package com.mindsdb.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class LruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        LruCache<String, Integer> cache = new LruCache<>(2, null);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+        Assertions.assertEquals(1, cache.get("a"));
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals(3, cache.get("c"));
+        CacheStats stats = cache.stats();
+        Assertions.assertEquals(3, stats.getHitCount());
+        Assertions.assertEquals(1, stats.getMissCount());
+        Assertions.assertEquals(1, stats.getEvictionCount());
+    }
+
+    @Test
+    void expiresAfterTtl() throws InterruptedException {
+        LruCache<String, Integer> cache = new LruCache<>(10, Duration.ofMillis(20));
+        cache.put("a", 1);
+        Thread.sleep(40);
+        Assertions.assertNull(cache.get("a"));
+        Assertions.assertEquals(1, cache.stats().getExpirationCount());
+    }
+
+    @Test
+    void invalidate() {
+        LruCache<String, Integer> cache = new LruCache<>(10, null);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.invalidate("a");
+        cache.invalidateIf((key, value) -> value == 2);
+        Assertions.assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,132 @@
+package com.mindsdb.cache;
+
+import com.mindsdb.client.Client;
+import com.mindsdb.models.Datasource;
+import com.mindsdb.models.Mind;
+import com.mindsdb.utils.Constants;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class MetadataSnapshotTest {
+
+    private static final String MINDS = "[{\"name\":\"sales\",\"datasources\":[\"orders\"],\"model_name\":\"gpt-4o\"}]";
+    private static final String DATASOURCES = "[{\"name\":\"orders\",\"engine\":\"postgres\",\"description\":\"Orders\",\"connection_data\":{\"host\":\"db\"},\"tables\":[]},"
+            + "{\"name\":\"legacy\",\"engine\":\"postgres\",\"description\":\"Legacy\",\"connection_data\":{\"host\":\"old\"},\"tables\":[]}]";
+
+    private static MockWebServer server;
+    private static final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private static volatile boolean legacyDropped;
+
+    private static Dispatcher createDispatcher() {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.add(request.getPath() + " " + request.getHeader("If-None-Match"));
+                if (request.getPath().equals("/api/projects/mindsdb/minds")) {
+                    if ("\"m1\"".equals(request.getHeader("If-None-Match"))) return new MockResponse().setResponseCode(304);
+                    return new MockResponse().setBody(MINDS).setHeader("ETag", "\"m1\"");
+                }
+                if (request.getPath().equals("/api/datasources")) {
+                    if (legacyDropped) return new MockResponse().setBody(DATASOURCES.substring(0, DATASOURCES.indexOf(",{")) + "]").setHeader("ETag", "\"d2\"");
+                    return new MockResponse().setBody(DATASOURCES).setHeader("ETag", "\"d1\"");
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        };
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        requests.clear();
+        legacyDropped = false;
+        server = new MockWebServer();
+        server.setDispatcher(createDispatcher());
+        server.start(8080);
+    }
+
+    @Test
+    void importWarmsCacheAndRevalidatesInBackground(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("metadata.json");
+        String baseUrl = String.format("http://%s:8080", server.getHostName());
+        Client exporter = new Client("api-key", baseUrl);
+        exporter.exportSnapshot(file);
+        exporter.shutDownConnection();
+        Assertions.assertFalse(Files.readString(file).contains("connection_data"));
+        Assertions.assertTrue(Files.readString(file).contains("\"legacy\""));
+        if (Files.getFileStore(file).supportsFileAttributeView("posix")) {
+            Assertions.assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        }
+
+        legacyDropped = true;
+        requests.clear();
+        Client client = new Client("api-key", baseUrl);
+        CompletableFuture<Void> revalidated = client.importSnapshot(file);
+        Assertions.assertEquals("gpt-4o", client.mindsService.get("sales").orElseThrow().getModel_name());
+        revalidated.get();
+        Assertions.assertEquals("db", client.getMetadataCache().getDatasource("orders").orElseThrow().getConnection_data().get("host").getAsString());
+
+        Assertions.assertTrue(requests.contains("/api/projects/mindsdb/minds \"m1\""));
+        Assertions.assertTrue(requests.contains("/api/datasources null"));
+        Assertions.assertEquals(2, requests.size());
+        Assertions.assertTrue(client.getMetadataCache().getDatasource("orders").isPresent());
+        Assertions.assertTrue(client.getMetadataCache().getDatasource("legacy").isEmpty());
+        client.shutDownConnection();
+    }
+
+    @Test
+    void loadedEntriesKeepTheSnapshotAge() {
+        Datasource orders = Constants.gson.fromJson("{\"name\":\"orders\",\"engine\":\"postgres\",\"description\":\"Orders\"}", Datasource.class);
+        MetadataCache cache = new MetadataCache(CacheConfig.builder().ttl(Duration.ofMinutes(5)).build());
+        long takenAt = System.currentTimeMillis();
+        cache.load(new MetadataSnapshot(takenAt, new Revalidation<>(null, null, List.of(new Mind("sales"))), List.of(orders)));
+        Assertions.assertTrue(cache.getMind("sales").isPresent());
+        Assertions.assertNull(cache.getDatasource("orders").orElseThrow().getConnection_data());
+
+        MetadataCache expired = new MetadataCache(CacheConfig.builder().ttl(Duration.ofMinutes(5)).build());
+        expired.load(new MetadataSnapshot(takenAt - Duration.ofMinutes(6).toMillis(),
+                new Revalidation<>(null, null, List.of(new Mind("sales"))), List.of(orders)));
+        Assertions.assertTrue(expired.getMind("sales").isEmpty());
+        Assertions.assertTrue(expired.getDatasource("orders").isEmpty());
+    }
+
+    @Test
+    void ignoresStaleSnapshot(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("metadata.json");
+        Files.writeString(file, "{\"takenAt\":1,\"minds\":{\"etag\":\"\\\"m1\\\"\",\"value\":[{\"name\":\"stale\",\"datasources\":[]}]}}");
+        Client client = new Client("api-key", String.format("http://%s:8080", server.getHostName()));
+        client.importSnapshot(file).get();
+
+        Assertions.assertTrue(client.getMetadataCache().getMind("stale").isEmpty());
+        Assertions.assertTrue(requests.contains("/api/projects/mindsdb/minds null"));
+        client.shutDownConnection();
+    }
+
+    @Test
+    void rejectsIncompleteSnapshot(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("metadata.json");
+        Files.writeString(file, "{\"takenAt\":1}");
+        Assertions.assertThrows(IOException.class, () -> MetadataSnapshot.read(file));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+}
@@ -0,0 +1,100 @@
+package com.mindsdb.client;
+
+import com.mindsdb.metrics.InMemoryClientMetrics;
+import com.mindsdb.metrics.RouteMetricsSnapshot;
+import com.mindsdb.utils.Constants;
+import io.github.stefanbratanov.jvm.openai.ChatMessage;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+class CompletionEngineTest {
+
+    private static final String COMPLETION_JSON = "{\"id\":\"1\",\"object\":\"chat.completion\",\"created\":0,\"model\":\"sales\","
+            + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"ok\"},\"finish_reason\":\"stop\"}]}";
+
+    private static String chunkEvent(String content) {
+        return "data: {\"id\":\"1\",\"object\":\"chat.completion.chunk\",\"created\":0,\"model\":\"sales\","
+                + "\"choices\":[{\"index\":0,\"delta\":{\"content\":\"" + content + "\"}}]}\n\n";
+    }
+
+    private MockWebServer server;
+    private CompletionEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start(8080);
+        CompletionConfig config = CompletionConfig.builder().maxConcurrentCompletions(1).build();
+        engine = new CompletionEngine("test-key", server.url("/").toString(), config, new RateLimiter(RateLimitConfig.defaults()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        engine.close();
+        server.shutdown();
+    }
+
+    @Test
+    void cancelledCompletionReleasesItsSlot() throws Exception {
+        server.enqueue(new MockResponse().setBody(COMPLETION_JSON).setHeadersDelay(3, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody(COMPLETION_JSON));
+        List<ChatMessage> messages = List.of(ChatMessage.userMessage("hello"));
+
+        CompletableFuture<String> slow = engine.completeAsync("sales", messages);
+        Assertions.assertNotNull(server.takeRequest(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(slow.cancel(true));
+
+        // the only slot is free again long before the slow response would have arrived
+        Assertions.assertEquals("ok", engine.completeAsync("sales", messages).get(2, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void finishedStreamIsReportedToMetrics() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody(chunkEvent("a") + chunkEvent("b") + chunkEvent("c") + "data: [DONE]\n\n"));
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        CompletionEngine instrumented = new CompletionEngine("test-key", server.url("/").toString(), CompletionConfig.defaults(),
+                new RateLimiter(RateLimitConfig.defaults()), metrics, null);
+        CountDownLatch completed = new CountDownLatch(1);
+        instrumented.publish("sales", List.of(ChatMessage.userMessage("hello"))).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assertions.fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        Assertions.assertTrue(completed.await(5, TimeUnit.SECONDS));
+        RouteMetricsSnapshot snapshot = metrics.snapshot("POST", Constants.COMPLETION_ROUTE).orElseThrow();
+        Assertions.assertEquals(1, snapshot.getStreams());
+        Assertions.assertTrue(snapshot.getP50TimeToFirstToken().compareTo(Duration.ZERO) > 0);
+        instrumented.close();
+    }
+}
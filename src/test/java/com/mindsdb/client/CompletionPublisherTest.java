@@ -0,0 +1,206 @@
+package com.mindsdb.client;
+
+import io.github.stefanbratanov.jvm.openai.ChatCompletionChunk;
+import io.github.stefanbratanov.jvm.openai.Usage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+class CompletionPublisherTest {
+
+    private static ChatCompletionChunk chunk(String content) {
+        ChatCompletionChunk.Choice.Delta delta = new ChatCompletionChunk.Choice.Delta(null, content, null, null);
+        return new ChatCompletionChunk("id", List.of(new ChatCompletionChunk.Choice(delta, 0, null, null)), 0, "test", null, null, null);
+    }
+
+    @Test
+    void emitsOnlyWhatIsRequested() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        CompletionPublisher publisher = new CompletionPublisher(
+                () -> Stream.of("a", "", "b", "c").peek(s -> pulled.incrementAndGet()).map(CompletionPublisherTest::chunk),
+                Runnable::run, null);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(String item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assertions.fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        Assertions.assertEquals(0, pulled.get());
+        subscription[0].request(2);
+        Assertions.assertEquals(List.of("a", "b"), received);
+        Assertions.assertEquals(3, pulled.get());
+        subscription[0].request(5);
+        Assertions.assertTrue(completed.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of("a", "b", "c"), received);
+        Assertions.assertEquals(3, publisher.getMetrics().getTokenCount());
+        Assertions.assertNotNull(publisher.getMetrics().getTimeToFirstToken());
+    }
+
+    @Test
+    void reportedUsageWinsOverChunkCount() {
+        ChatCompletionChunk usage = new ChatCompletionChunk("id", List.of(), 0, "test", null, null, new Usage(7, 1, 8));
+        AtomicReference<StreamMetrics> finished = new AtomicReference<>();
+        CompletionPublisher publisher = new CompletionPublisher(
+                () -> Stream.of(chunk("a"), usage, chunk("b"), chunk("c")), Runnable::run, finished::set);
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assertions.fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        Assertions.assertSame(publisher.getMetrics(), finished.get());
+        Assertions.assertEquals(7, finished.get().getTokenCount());
+    }
+
+    @Test
+    void cancelClosesStream() {
+        AtomicBoolean closed = new AtomicBoolean();
+        CompletionPublisher publisher = new CompletionPublisher(
+                () -> Stream.generate(() -> chunk("x")).onClose(() -> closed.set(true)),
+                Runnable::run, null);
+        AtomicInteger received = new AtomicInteger();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String item) {
+                if (received.incrementAndGet() == 3) subscription.cancel();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assertions.fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                Assertions.fail("Cancelled stream must not complete");
+            }
+        });
+
+        Assertions.assertEquals(3, received.get());
+        Assertions.assertTrue(closed.get());
+    }
+
+    @Test
+    void clockStartsWhenRequestIsSent() throws Exception {
+        CompletionPublisher publisher = new CompletionPublisher(() -> Stream.of(chunk("a")), Runnable::run, null);
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(String item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assertions.fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        Thread.sleep(200);
+        Assertions.assertEquals(Duration.ZERO, publisher.getMetrics().getDuration());
+        subscription[0].request(1);
+        Assertions.assertTrue(publisher.getMetrics().getTimeToFirstToken().toMillis() < 200);
+    }
+
+    @Test
+    void invalidDemandIsSignalledOnDeliveryThread() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "delivery"));
+        AtomicBoolean closed = new AtomicBoolean();
+        CompletionPublisher publisher = new CompletionPublisher(
+                () -> Stream.generate(() -> chunk("x")).onClose(() -> closed.set(true)), executor, null);
+        CountDownLatch failed = new CountDownLatch(1);
+        List<String> errorThreads = new CopyOnWriteArrayList<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(String item) {
+                subscription.request(0);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assertions.assertInstanceOf(IllegalArgumentException.class, throwable);
+                errorThreads.add(Thread.currentThread().getName());
+                failed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                Assertions.fail("Failed stream must not complete");
+            }
+        });
+
+        Assertions.assertTrue(failed.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of("delivery"), errorThreads);
+        Assertions.assertTrue(closed.get());
+        executor.shutdown();
+    }
+}
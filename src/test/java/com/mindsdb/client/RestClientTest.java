@@ -0,0 +1,269 @@
+package com.mindsdb.client;
+
+import com.mindsdb.exception.CircuitBreakerOpenException;
+import com.mindsdb.exception.ObjectNotFoundException;
+import com.mindsdb.metrics.InMemoryClientMetrics;
+import com.mindsdb.metrics.RouteMetricsSnapshot;
+import com.mindsdb.utils.Constants;
+import com.mindsdb.client.transport.TransportFactory;
+import com.mindsdb.client.transport.TransportResponse;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class RestClientTest {
+
+    private static MockWebServer server;
+    private static String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start(8080);
+        baseUrl = String.format("http://%s:8080", server.getHostName());
+    }
+
+    @Test
+    void clientsHaveIsolatedTransports() throws Exception {
+        RestClient first = new RestClient("first-key", baseUrl);
+        RestClient second = new RestClient("second-key", baseUrl, ConnectionPoolConfig.builder().maxConnections(2).build());
+        server.enqueue(new MockResponse().setResponseCode(200));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        first.sendGetRequest(Constants.LIST_DATASOURCE_ENDPOINT);
+        first.shutDown();
+        second.sendGetRequest(Constants.LIST_DATASOURCE_ENDPOINT);
+
+        RecordedRequest firstRequest = server.takeRequest();
+        RecordedRequest secondRequest = server.takeRequest();
+        Assertions.assertEquals("Bearer first-key", firstRequest.getHeader(Constants.AUTHORIZATION_HEADER));
+        Assertions.assertEquals("Bearer second-key", secondRequest.getHeader(Constants.AUTHORIZATION_HEADER));
+        second.shutDown();
+    }
+
+    @Test
+    void sendsThroughHttp2Transport() throws Exception {
+        RestClient client = new RestClient("http2-key", baseUrl,
+                ClientConfig.builder().transport(TransportFactory.http2()).build());
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{}").setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{\"name\":\"created\"}"));
+
+        TransportResponse<String> response = client.sendGetRequest(Constants.LIST_DATASOURCE_ENDPOINT);
+        Assertions.assertEquals("{}", response.getBody());
+        Assertions.assertEquals("\"v1\"", response.getHeader("etag"));
+        Assertions.assertEquals("{\"name\":\"created\"}",
+                client.sendPostRequestAsync(Constants.CREATE_DATASOURCE_ENDPOINT, "{\"name\":\"db\"}").join().getBody());
+
+        RecordedRequest get = server.takeRequest();
+        RecordedRequest post = server.takeRequest();
+        Assertions.assertEquals("GET", get.getMethod());
+        Assertions.assertEquals("Bearer http2-key", get.getHeader(Constants.AUTHORIZATION_HEADER));
+        Assertions.assertEquals("POST", post.getMethod());
+        Assertions.assertEquals("{\"name\":\"db\"}", post.getBody().readUtf8());
+        Assertions.assertNotNull(client.getTransport().getHttpClient());
+        client.shutDown();
+    }
+
+    @Test
+    void createsTransportOnFirstRequest() throws Exception {
+        List<String> created = new ArrayList<>();
+        TransportFactory factory = (url, headers, pool) -> {
+            created.add(url);
+            return TransportFactory.unirest().create(url, headers, pool);
+        };
+        RestClient client = new RestClient("lazy-key", baseUrl, ClientConfig.builder().transport(factory).build());
+        Assertions.assertTrue(created.isEmpty());
+
+        server.enqueue(new MockResponse().setResponseCode(200));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        client.sendGetRequest(Constants.LIST_DATASOURCE_ENDPOINT);
+        client.sendGetRequest(Constants.LIST_DATASOURCE_ENDPOINT);
+        Assertions.assertEquals(List.of(baseUrl + Constants.MINDS_API_ENDPOINT), created);
+        client.shutDown();
+        new RestClient("unused-key", baseUrl, ClientConfig.builder().transport(factory).build()).shutDown();
+        Assertions.assertEquals(1, created.size());
+    }
+
+    @Test
+    void completionEngineOwnedPerClient() throws Exception {
+        RestClient first = new RestClient("engine-key", baseUrl);
+        RestClient second = new RestClient("engine-key", baseUrl,
+                ClientConfig.builder().completion(CompletionConfig.builder().maxConcurrentCompletions(2).build()).build());
+        CompletionEngine engine = first.getCompletionEngine();
+        Assertions.assertSame(engine, first.getCompletionEngine());
+        Assertions.assertNotSame(engine, second.getCompletionEngine());
+        Assertions.assertEquals(2, second.getCompletionEngine().getConfig().getMaxConcurrentCompletions());
+
+        first.shutDown();
+        Assertions.assertTrue(engine.isClosed());
+        Assertions.assertFalse(second.getCompletionEngine().isClosed());
+        second.shutDown();
+    }
+
+    @Test
+    void completionEngineFollowsRecycledHttpClient() throws Exception {
+        RestClient client = new RestClient("recycle-key", baseUrl,
+                ClientConfig.builder().transport(TransportFactory.http2()).build());
+        Object before = client.getCompletionEngine().getOpenAI();
+        Assertions.assertSame(before, client.getCompletionEngine().getOpenAI());
+        client.getTransport().recycle();
+        Assertions.assertNotSame(before, client.getCompletionEngine().getOpenAI());
+        client.shutDown();
+    }
+
+    @Test
+    void rateLimiterSharedPerApiKey() {
+        RestClient first = new RestClient("limited-key", baseUrl,
+                ClientConfig.builder().rateLimit(RateLimitConfig.builder().controlPlaneRate(5).build()).build());
+        RestClient second = new RestClient("limited-key", "http://localhost:9090");
+        Assertions.assertSame(first.getRateLimiter(), second.getRateLimiter());
+        Assertions.assertEquals(5, second.getRateLimiter().getControlPlane().getRate());
+        Assertions.assertNotSame(first.getRateLimiter(), new RestClient("other-limited-key", baseUrl).getRateLimiter());
+    }
+
+    @Test
+    void recordsMetricsPerRoute() throws Exception {
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        RestClient client = new RestClient("metrics-key", baseUrl, ClientConfig.builder().metrics(metrics).build());
+        server.enqueue(new MockResponse().setResponseCode(429).setHeader("Retry-After", "1"));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        client.sendGetRequest(String.format(Constants.GET_MIND_ENDPOINT, Constants.MINDS_PROJECT, "first"));
+        Assertions.assertThrows(ObjectNotFoundException.class,
+                () -> client.sendGetRequest(String.format(Constants.GET_MIND_ENDPOINT, Constants.MINDS_PROJECT, "second")));
+
+        RouteMetricsSnapshot snapshot = metrics.snapshot("GET", "/projects/{project}/minds/{mind}").orElseThrow();
+        Assertions.assertEquals(3, snapshot.getResponses());
+        Assertions.assertEquals(1, snapshot.getRetries());
+        Assertions.assertEquals(0, snapshot.getInFlight());
+        Assertions.assertEquals(Map.of(429, 1L, 200, 1L, 404, 1L), snapshot.getStatusCounts());
+        Assertions.assertEquals(2, snapshot.getBytesReceived());
+        Assertions.assertTrue(snapshot.getMaxLatency().compareTo(snapshot.getP50Latency()) >= 0);
+        client.shutDown();
+    }
+
+    @Test
+    void interceptorsWrapRequests() throws Exception {
+        List<String> calls = new ArrayList<>();
+        RequestInterceptor correlation = new RequestInterceptor() {
+            @Override
+            public void beforeSend(RequestContext context) {
+                calls.add("correlation.before " + context.getRoute());
+                context.setHeader("X-Correlation-Id", "abc");
+            }
+
+            @Override
+            public void afterReceive(RequestContext context) {
+                calls.add("correlation.after " + context.getStatus());
+            }
+
+            @Override
+            public void onError(RequestContext context, Throwable error) {
+                calls.add("correlation.error " + error.getClass().getSimpleName());
+            }
+        };
+        RequestInterceptor timing = new RequestInterceptor() {
+            @Override
+            public void beforeSend(RequestContext context) {
+                calls.add("timing.before");
+            }
+
+            @Override
+            public void afterReceive(RequestContext context) {
+                calls.add("timing.after");
+            }
+        };
+        RestClient client = new RestClient("interceptor-key", baseUrl,
+                ClientConfig.builder().interceptor(correlation).interceptor(timing).build());
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        Assertions.assertThrows(ObjectNotFoundException.class,
+                () -> client.sendGetRequest(String.format(Constants.GET_DATASOURCE_ENDPOINT, "missing")));
+
+        Assertions.assertEquals("abc", server.takeRequest().getHeader("X-Correlation-Id"));
+        Assertions.assertEquals(List.of("correlation.before /datasources/{datasource}", "timing.before",
+                "timing.after", "correlation.after 404", "correlation.error ObjectNotFoundException"), calls);
+        client.shutDown();
+    }
+
+    @Test
+    void retriesIdempotentRequestsWithBackoff() throws Exception {
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        RestClient client = new RestClient("retry-key", baseUrl, ClientConfig.builder()
+                .metrics(metrics)
+                .retry(RetryPolicy.builder().initialBackoff(Duration.ofMillis(1)).build())
+                .build());
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("[]"));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        Assertions.assertEquals("[]", client.sendGetRequestAsync(Constants.LIST_DATASOURCE_ENDPOINT).join().getBody());
+        Assertions.assertThrows(UnknownError.class, () -> client.sendPostRequest(Constants.CREATE_DATASOURCE_ENDPOINT, "{}"));
+
+        Assertions.assertEquals(4, server.getRequestCount());
+        Assertions.assertEquals(2, metrics.snapshot("GET", "/datasources").orElseThrow().getRetries());
+        Assertions.assertEquals(0, metrics.snapshot("POST", "/datasources").orElseThrow().getRetries());
+        client.shutDown();
+    }
+
+    @Test
+    void circuitBreakerFailsFast() throws Exception {
+        RestClient client = new RestClient("breaker-key", baseUrl, ClientConfig.builder()
+                .retry(RetryPolicy.disabled())
+                .circuitBreaker(CircuitBreakerConfig.builder().failureThreshold(2).openDuration(Duration.ofMillis(200)).build())
+                .build());
+        String endPoint = String.format(Constants.GET_MIND_ENDPOINT, Constants.MINDS_PROJECT, "flaky");
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+
+        Assertions.assertThrows(UnknownError.class, () -> client.sendGetRequest(endPoint));
+        Assertions.assertThrows(UnknownError.class, () -> client.sendGetRequest(endPoint));
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> client.sendGetRequest(endPoint));
+        Assertions.assertEquals(2, server.getRequestCount());
+        client.sendGetRequest(Constants.LIST_DATASOURCE_ENDPOINT);
+
+        Thread.sleep(250);
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{}"));
+        Assertions.assertEquals("{}", client.sendGetRequest(endPoint).getBody());
+        client.shutDown();
+    }
+
+    @Test
+    void coalescesConcurrentGets() throws Exception {
+        InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+        RestClient client = new RestClient("coalesce-key", baseUrl, ClientConfig.builder().metrics(metrics).build());
+        String endPoint = String.format(Constants.GET_MIND_ENDPOINT, Constants.MINDS_PROJECT, "popular");
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("{}").setHeadersDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        List<CompletableFuture<TransportResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) responses.add(client.sendGetRequestAsync(endPoint));
+        Assertions.assertEquals("{}", client.sendGetRequest(endPoint).getBody());
+        for (CompletableFuture<TransportResponse<String>> response : responses) Assertions.assertEquals("{}", response.join().getBody());
+        Assertions.assertThrows(ObjectNotFoundException.class, () -> client.sendGetRequest(endPoint));
+
+        Assertions.assertEquals(2, server.getRequestCount());
+        Assertions.assertEquals(4, metrics.snapshot("GET", "/projects/{project}/minds/{mind}").orElseThrow().getCoalesced());
+        client.shutDown();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+}
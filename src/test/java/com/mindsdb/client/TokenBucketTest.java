@@ -0,0 +1,39 @@
+package com.mindsdb.client;
+
+import com.mindsdb.utils.Constants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+class TokenBucketTest {
+
+    @Test
+    void spreadsBurstsAtRate() {
+        TokenBucket bucket = new TokenBucket("test", 20, 1, true);
+        Assertions.assertTrue(bucket.tryAcquire());
+        Assertions.assertFalse(bucket.tryAcquire());
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> first = bucket.acquireAsync();
+        CompletableFuture<Void> second = bucket.acquireAsync();
+        Assertions.assertFalse(second.isDone());
+        CompletableFuture.allOf(first, second).join();
+        Assertions.assertTrue(System.nanoTime() - start >= 90_000_000L);
+    }
+
+    @Test
+    void pausesWhenServerQuotaIsExhausted() {
+        TokenBucket bucket = new TokenBucket("test", 0, 1, true);
+        Assertions.assertTrue(bucket.tryAcquire());
+        Assertions.assertTrue(bucket.tryAcquire());
+
+        bucket.adapt(200, Map.of(Constants.RATE_LIMIT_REMAINING_HEADER, "0", Constants.RATE_LIMIT_RESET_HEADER, "5")::get);
+        Assertions.assertFalse(bucket.tryAcquire());
+
+        TokenBucket fixed = new TokenBucket("fixed", 0, 1, false);
+        fixed.adapt(429, Map.of(Constants.RETRY_AFTER_HEADER, "5")::get);
+        Assertions.assertTrue(fixed.tryAcquire());
+    }
+}
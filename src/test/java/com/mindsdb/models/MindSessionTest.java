@@ -0,0 +1,42 @@
+package com.mindsdb.models;
+
+import io.github.stefanbratanov.jvm.openai.ChatMessage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class MindSessionTest {
+
+    @Test
+    void keepsLatestTurnsInRingBuffer() {
+        MindSession session = Mind.builder().name("sales").build().session(SessionConfig.builder().maxTurns(2).build());
+        session.remember("q1", "a1");
+        session.remember("q2", "a2");
+        session.remember("q3", "a3");
+
+        Assertions.assertEquals(2, session.size());
+        Assertions.assertEquals(List.of(ChatMessage.userMessage("q2"), ChatMessage.assistantMessage("a2"),
+                ChatMessage.userMessage("q3"), ChatMessage.assistantMessage("a3")), session.getHistory());
+        session.clear();
+        Assertions.assertEquals(List.of(ChatMessage.userMessage("q4")), session.prompt("q4").messages);
+    }
+
+    @Test
+    void trimsOldestTurnsToBudget() {
+        SessionConfig config = SessionConfig.builder().maxTokens(20).tokenCounter(String::length).systemPrompt("be brief").build();
+        MindSession session = Mind.builder().name("sales").build().session(config);
+        session.remember("first", "one");
+        session.remember("second", "two");
+
+        // 8 (system) + 4 (message) + 9 (second turn) exceeds 20, so only the message is sent with the system prompt
+        Assertions.assertEquals(List.of(ChatMessage.systemMessage("be brief"), ChatMessage.userMessage("next")),
+                session.prompt("next").messages);
+
+        session.remember("q", "a");
+        // 8 + 4 + 2 fits, adding the second turn (9) does not
+        Assertions.assertEquals(List.of(ChatMessage.systemMessage("be brief"), ChatMessage.userMessage("q"),
+                ChatMessage.assistantMessage("a"), ChatMessage.userMessage("next")), session.prompt("next").messages);
+        Assertions.assertEquals(3, session.size());
+    }
+}
@@ -61,6 +61,53 @@ class MindTest {
         Assertions.assertDoesNotThrow(() -> mind.update(newMindName, null, null, null, null, null));
     }
 
+    @Test
+    void updateSendsOnlyChangedFields() throws Exception {
+        Mind mind = createMind();
+        mind.update("test", List.of("testds"), "gpt-4o", null, null, null);
+        RecordedRequest patch = server.takeRequest();
+        Assertions.assertEquals("PATCH", patch.getMethod());
+        Assertions.assertEquals("{\"model_name\":\"gpt-4o\"}", patch.getBody().readUtf8());
+        Assertions.assertEquals("gpt-4o", mind.getModel_name());
+
+        mind.update("test", List.of("testds"), "gpt-4o", null, null, null);
+        mind.updateAsync("test", null, null, null, null, null).join();
+        Assertions.assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void updateWithEmptyDatasourcesDetachesAll() throws Exception {
+        Mind mind = createMind();
+        mind.update("test", List.of(), null, null, null, null);
+        RecordedRequest patch = server.takeRequest();
+        Assertions.assertEquals("PATCH", patch.getMethod());
+        Assertions.assertEquals("{\"datasources\":[]}", patch.getBody().readUtf8());
+        Assertions.assertEquals(List.of(), mind.getDatasources());
+
+        mind.updateAsync("test", List.of("testds"), "gpt-4o", null, null, null).join();
+        RecordedRequest combined = server.takeRequest();
+        Assertions.assertEquals("PATCH", combined.getMethod());
+        Assertions.assertEquals("{\"datasources\":[\"testds\"],\"model_name\":\"gpt-4o\"}", combined.getBody().readUtf8());
+        Assertions.assertEquals(List.of("testds"), mind.getDatasources());
+        Assertions.assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void failedLazyRefreshIsRetried() {
+        Mind mind = createMind();
+        mind.markForLazyRefresh();
+        Assertions.assertNull(mind.getCreated_at());
+        Assertions.assertNull(mind.getCreated_at());
+        Assertions.assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void refreshWithEmptyResponseKeepsFields() {
+        Mind mind = createMind();
+        Assertions.assertThrows(Exception.class, mind::refresh);
+        Assertions.assertEquals(List.of("testds"), mind.getDatasources());
+    }
+
     @Test
     void addDatasource() {
         String dsDropName = "testds";
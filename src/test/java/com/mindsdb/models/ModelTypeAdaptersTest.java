@@ -0,0 +1,49 @@
+package com.mindsdb.models;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.mindsdb.utils.Constants;
+import com.mindsdb.utils.Utils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class ModelTypeAdaptersTest {
+
+    private static final Gson reflective = new Gson();
+
+    @Test
+    void mindMatchesReflectiveGson() {
+        JsonObject parameters = new JsonObject();
+        parameters.addProperty("temperature", 0.2);
+        Mind mind = Mind.builder().name("sales").datasources(List.of("orders", "customers"))
+                .model_name("gpt-4o").parameters(parameters).prompt_template("<b>{{question}}</b>").build();
+        mind.markForLazyRefresh();
+
+        String json = Constants.gson.toJson(mind);
+        Assertions.assertEquals(reflective.toJson(mind), json);
+        Assertions.assertEquals(mind, Utils.parseStringToMind(json));
+
+        String serverJson = "{\"name\":\"sales\",\"unknown\":{\"nested\":[1,2]},\"provider\":\"openai\",\"datasources\":null}";
+        Assertions.assertEquals(reflective.fromJson(serverJson, Mind.class), Utils.parseStringToMind(serverJson));
+    }
+
+    @Test
+    void datasourceMatchesReflectiveGson() {
+        JsonObject connection = new JsonObject();
+        connection.addProperty("host", "db.example.com");
+        connection.addProperty("port", 5432);
+        Datasource datasource = new Datasource("orders", "postgres", "Orders", connection, List.of("orders"));
+
+        Assertions.assertEquals(reflective.toJson(datasource), datasource.toString());
+        String serverJson = "{\"name\":\"orders\",\"engine\":\"postgres\",\"connection_data\":{\"port\":5432}}";
+        Datasource parsed = Utils.parseStringToDatasource(serverJson);
+        Assertions.assertEquals("orders", parsed.getName());
+        Assertions.assertNull(parsed.getDescription());
+        Assertions.assertNull(parsed.getTables());
+        Assertions.assertEquals(5432, parsed.getConnection_data().get("port").getAsInt());
+        Assertions.assertEquals("{\"description\":\"Orders\",\"connection_data\":{\"host\":\"db.example.com\",\"port\":5432},\"tables\":[\"orders\"]}",
+                Utils.generateDatasourceUpdateBody(datasource));
+    }
+}
@@ -0,0 +1,126 @@
+package com.mindsdb.reconcile;
+
+import com.google.gson.JsonObject;
+import com.mindsdb.batch.BatchItemResult;
+import com.mindsdb.batch.BatchResult;
+import com.mindsdb.client.Client;
+import com.mindsdb.models.DatabaseConfig;
+import com.mindsdb.models.Mind;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class ReconcilerTest {
+
+    private static final String DATASOURCES = "[{\"name\":\"orders\",\"engine\":\"postgres\",\"description\":\"Orders\",\"connection_data\":{\"host\":\"db\"},\"tables\":[]},"
+            + "{\"name\":\"legacy\",\"engine\":\"postgres\",\"description\":\"Legacy\",\"connection_data\":{\"host\":\"old\"},\"tables\":[]}]";
+    private static final String MINDS = "[{\"name\":\"sales\",\"datasources\":[\"orders\",\"legacy\"],\"model_name\":\"gpt-4\"},"
+            + "{\"name\":\"old\",\"datasources\":[\"legacy\"]}]";
+
+    private static MockWebServer server;
+    private static Client client;
+    private static final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private static volatile boolean failDatasourceCreation;
+
+    private static Dispatcher createDispatcher() {
+        return new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String call = request.getMethod() + " " + request.getPath();
+                if (call.equals("GET /api/datasources")) return new MockResponse().setBody(DATASOURCES);
+                if (call.equals("GET /api/projects/mindsdb/minds")) return new MockResponse().setBody(MINDS);
+                requests.add(call);
+                if (failDatasourceCreation && call.equals("POST /api/datasources")) return new MockResponse().setResponseCode(404);
+                return new MockResponse().setResponseCode(200);
+            }
+        };
+    }
+
+    private static List<DatabaseConfig> desiredDatasources() {
+        JsonObject connection = new JsonObject();
+        connection.addProperty("host", "db");
+        return List.of(
+                DatabaseConfig.builder().name("orders").engine("postgres").description("Orders v2").connection_data(connection).build(),
+                DatabaseConfig.builder().name("customers").engine("postgres").description("Customers").connection_data(connection).build());
+    }
+
+    private static List<Mind> desiredMinds() {
+        return List.of(
+                Mind.builder().name("sales").datasources(List.of("orders", "customers")).model_name("gpt-4o").build(),
+                Mind.builder().name("support").datasources(List.of("customers")).build());
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        requests.clear();
+        failDatasourceCreation = false;
+        server = new MockWebServer();
+        server.setDispatcher(createDispatcher());
+        server.start(8080);
+        client = new Client("api-key", String.format("http://%s:8080", server.getHostName()));
+    }
+
+    @Test
+    void plansAndAppliesInDependencyOrder() throws Exception {
+        ReconcileOptions options = ReconcileOptions.builder().prune(true).concurrency(4).build();
+        ReconcilePlan plan = client.reconciler.plan(desiredDatasources(), desiredMinds(), options);
+
+        Assertions.assertEquals(String.join(System.lineSeparator(),
+                "#0 patch datasource orders",
+                "#1 create datasource customers",
+                "#2 patch mind sales (model_name)",
+                "#3 attach datasource customers to mind sales after #2, #1",
+                "#4 detach datasource legacy from mind sales after #3",
+                "#5 create mind support after #1",
+                "#6 drop mind old",
+                "#7 drop datasource legacy after #4, #6"), plan.toString());
+        Assertions.assertTrue(requests.isEmpty());
+
+        BatchResult<Void> result = client.reconciler.apply(plan, options);
+        Assertions.assertTrue(result.isAllSucceeded());
+        Assertions.assertEquals(8, requests.size());
+        Assertions.assertTrue(requests.indexOf("POST /api/datasources") < requests.indexOf("POST /api/projects/mindsdb/minds/sales/datasources"));
+        Assertions.assertTrue(requests.indexOf("DELETE /api/projects/mindsdb/minds/sales/datasources/legacy") < requests.indexOf("DELETE /api/datasources/legacy"));
+        Assertions.assertTrue(requests.indexOf("DELETE /api/projects/mindsdb/minds/old") < requests.indexOf("DELETE /api/datasources/legacy"));
+    }
+
+    @Test
+    void skipsActionsWhoseDependenciesFailed() throws Exception {
+        failDatasourceCreation = true;
+        BatchResult<Void> result = client.reconciler.reconcile(desiredDatasources(), desiredMinds(), ReconcileOptions.builder().prune(true).build());
+
+        List<String> failed = result.failures().stream().map(BatchItemResult::getKey).toList();
+        Assertions.assertEquals(List.of("create datasource customers", "attach datasource customers to mind sales",
+                "detach datasource legacy from mind sales", "create mind support", "drop datasource legacy"), failed);
+        Assertions.assertEquals("skipped because create datasource customers failed", result.getItems().get(5).getError().getMessage());
+        Assertions.assertFalse(requests.contains("DELETE /api/datasources/legacy"));
+        Assertions.assertTrue(requests.contains("DELETE /api/projects/mindsdb/minds/old"));
+    }
+
+    @Test
+    void mindWithoutDatasourceListKeepsItsDatasources() throws Exception {
+        Mind sales = Mind.builder().name("sales").datasources(null).build();
+        ReconcilePlan plan = client.reconciler.plan(desiredDatasources().subList(0, 1), List.of(sales),
+                ReconcileOptions.builder().prune(true).build());
+
+        Assertions.assertEquals(String.join(System.lineSeparator(),
+                "#0 patch datasource orders",
+                "#1 drop mind old"), plan.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+        client.shutDownConnection();
+    }
+}
@@ -1,5 +1,8 @@
 package com.mindsdb.services;
 
+import com.google.gson.JsonObject;
+import com.mindsdb.batch.BatchOptions;
+import com.mindsdb.batch.BatchResult;
 import com.mindsdb.client.Client;
 import com.mindsdb.models.DatabaseConfig;
 import com.mindsdb.models.Datasource;
@@ -104,6 +107,50 @@ class DatasourcesServiceTest {
         Assertions.assertDoesNotThrow(() -> client.datasourcesService.drop(dsName));
     }
 
+    @Test
+    void updateSendsOnlyChangedFields() throws Exception {
+        Datasource current = getDsResponse();
+        JsonObject rotated = current.getConnection_data().deepCopy();
+        rotated.addProperty("password", "rotated_password");
+        rotated.remove("schema");
+        DatabaseConfig desired = DatabaseConfig.builder().name("test").engine("postgres").description("Rotated")
+                .connection_data(rotated).tables(current.getTables()).build();
+
+        Datasource updated = client.datasourcesService.update(desired);
+        Assertions.assertEquals("rotated_password", updated.getConnection_data().get("password").getAsString());
+        Assertions.assertEquals("GET", server.takeRequest().getMethod());
+        RecordedRequest patch = server.takeRequest();
+        Assertions.assertEquals("PATCH", patch.getMethod());
+        Assertions.assertEquals("{\"description\":\"Rotated\",\"connection_data\":{\"password\":\"rotated_password\",\"schema\":null}}",
+                patch.getBody().readUtf8());
+
+        DatabaseConfig unchanged = DatabaseConfig.builder().name("test").engine("postgres").description(current.getDescription())
+                .connection_data(current.getConnection_data()).tables(current.getTables()).build();
+        client.datasourcesService.update(unchanged);
+        Assertions.assertEquals("GET", server.takeRequest().getMethod());
+        Assertions.assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void createAll() {
+        DatabaseConfig valid = createDsRequest();
+        DatabaseConfig invalid = DatabaseConfig.builder().name("broken").engine("postgres").description("")
+                .connection_data(valid.getConnection_data()).build();
+        BatchResult<Datasource> result = client.datasourcesService.createAll(List.of(valid, invalid, valid),
+                BatchOptions.builder().concurrency(2).build());
+        Assertions.assertEquals(3, result.getItems().size());
+        Assertions.assertEquals(2, result.successes().size());
+        Assertions.assertEquals("broken", result.failures().get(0).getKey());
+        Assertions.assertEquals(1, result.failures().get(0).getIndex());
+    }
+
+    @Test
+    void listAsync() throws Exception {
+        Optional<List<Datasource>> actualList = client.datasourcesService.listAsync().get();
+        assert actualList.isPresent();
+        assert actualList.get().equals(listDsResponse());
+    }
+
     @AfterEach
     void tearDown() throws IOException {
         server.shutdown();
@@ -1,6 +1,9 @@
 package com.mindsdb.services;
 
+import com.mindsdb.cache.CacheConfig;
 import com.mindsdb.client.Client;
+import com.mindsdb.client.ClientConfig;
+import com.mindsdb.exception.ObjectNotFoundException;
 import com.mindsdb.models.Mind;
 import com.mindsdb.utils.Constants;
 import okhttp3.mockwebserver.Dispatcher;
@@ -10,8 +13,13 @@ import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.*;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class MindsServiceTest {
 
@@ -19,6 +27,10 @@ class MindsServiceTest {
 
     private static Client client;
 
+    private static String baseUrl;
+
+    private static final String MIND_ETAG = "\"v1\"";
+
     private static Dispatcher createDispatcher(){
         return new Dispatcher() {
             @Override
@@ -33,7 +45,8 @@ class MindsServiceTest {
                 MockResponse mockResponse = new MockResponse();
                 mockResponse.setResponseCode(200);
                 if (request.getPath().equals(listMindUrl)) mockResponse.setBody(listMindResponse().toString());
-                else if (request.getPath().equals(getMindUrl)) mockResponse.setBody(getMindResponse().toString());
+                else if (request.getPath().equals(getMindUrl) && MIND_ETAG.equals(request.getHeader(Constants.IF_NONE_MATCH_HEADER))) mockResponse.setResponseCode(304);
+                else if (request.getPath().equals(getMindUrl)) mockResponse.setBody(getMindResponse().toString()).setHeader(Constants.ETAG_HEADER, MIND_ETAG);
                 else if (request.getPath().equals(createMindUrl)) mockResponse.setBody(createMindResponse().toString());
                 else if (request.getPath().equals(dropMindUrl)) return mockResponse;
                 else mockResponse.setResponseCode(404);
@@ -59,7 +72,7 @@ class MindsServiceTest {
         server = new MockWebServer();
         server.setDispatcher(createDispatcher());
         server.start(8080);
-        String baseUrl = String.format("http://%s:8080", server.getHostName());
+        baseUrl = String.format("http://%s:8080", server.getHostName());
         client = new Client("api-key", baseUrl);
     }
 
@@ -71,6 +84,16 @@ class MindsServiceTest {
         assert createMindResponse().equals(mind);
     }
 
+    @Test
+    void createWithoutReadBack() throws Exception {
+        Mind mind = client.mindsService.create("test", List.of("testds"));
+        Assertions.assertEquals(1, server.getRequestCount());
+        mind.getCreated_at();
+        Assertions.assertEquals(2, server.getRequestCount());
+        mind.getUpdated_at();
+        Assertions.assertEquals(2, server.getRequestCount());
+    }
+
     @Test
     void list() throws Exception {
         Optional<List<Mind>> actualList = client.mindsService.list();
@@ -78,6 +101,13 @@ class MindsServiceTest {
         assert actualList.get().equals(listMindResponse());
     }
 
+    @Test
+    void stream() throws Exception {
+        try (Stream<Mind> minds = client.mindsService.stream()) {
+            assert minds.collect(Collectors.toList()).equals(listMindResponse());
+        }
+    }
+
     @Test
     void get() throws Exception {
         String mindName = "test";
@@ -92,6 +122,57 @@ class MindsServiceTest {
         Assertions.assertDoesNotThrow(() -> client.mindsService.drop(mindName));
     }
 
+    @Test
+    void getServedFromCacheUntilDropped() throws Exception {
+        String mindName = "test";
+        client.mindsService.get(mindName);
+        client.mindsService.get(mindName);
+        Assertions.assertEquals(1, server.getRequestCount());
+        Assertions.assertEquals(1, client.getMetadataCache().mindStats().getHitCount());
+
+        client.mindsService.drop(mindName);
+        client.mindsService.get(mindName);
+        Assertions.assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void getRevalidatesExpiredEntryWithEtag() throws Exception {
+        Client revalidating = new Client("api-key", baseUrl,
+                ClientConfig.builder().cache(CacheConfig.builder().ttl(Duration.ofMillis(1)).build()).build());
+        Mind first = revalidating.mindsService.get("test").orElseThrow();
+        Thread.sleep(5);
+        Mind second = revalidating.mindsService.get("test").orElseThrow();
+
+        Assertions.assertEquals(first, second);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertNull(server.takeRequest().getHeader(Constants.IF_NONE_MATCH_HEADER));
+        Assertions.assertEquals(MIND_ETAG, server.takeRequest().getHeader(Constants.IF_NONE_MATCH_HEADER));
+        revalidating.shutDownConnection();
+    }
+
+    @Test
+    void getAsync() throws Exception {
+        String mindName = "test";
+        Optional<Mind> actualMind = client.mindsService.getAsync(mindName).get();
+        assert actualMind.isPresent();
+        assert actualMind.get().equals(getMindResponse());
+    }
+
+    @Test
+    void getAsyncNotFound() {
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> client.mindsService.getAsync("unknown").get());
+        Assertions.assertInstanceOf(ObjectNotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    void createAsyncInvalidNameFailsFuture() {
+        CompletableFuture<Mind> nullName = client.mindsService.createAsync(null);
+        Assertions.assertThrows(ExecutionException.class, nullName::get);
+        CompletableFuture<Mind> emptyName = client.mindsService.createAsync("");
+        Assertions.assertThrows(ExecutionException.class, emptyName::get);
+    }
+
     @AfterEach
     void tearDown() throws IOException {
         server.shutdown();